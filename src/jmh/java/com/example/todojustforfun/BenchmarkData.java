@@ -0,0 +1,40 @@
+package com.example.todojustforfun;
+
+import com.example.todojustforfun.dto.TodoRequest;
+import com.example.todojustforfun.models.Todo;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class BenchmarkData {
+    private BenchmarkData() {
+    }
+
+    public static List<Todo> todos(int count) {
+        List<Todo> todos = new ArrayList<>(count);
+        Instant createdAt = Instant.parse("2025-01-01T00:00:00Z");
+        for (int i = 0; i < count; i++) {
+            Todo todo = new Todo();
+            todo.setId((long) i + 1);
+            todo.setTitle("Task " + i);
+            todo.setDescription("Benchmark description for task " + i);
+            todo.setCompleted(i % 3 == 0);
+            todo.setCreatedAt(createdAt.plusSeconds(i));
+            todo.setDueDate(i % 2 == 0 ? null : OffsetDateTime.of(2030, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).plusHours(i));
+            todo.setUserId(1L);
+            todos.add(todo);
+        }
+        return todos;
+    }
+
+    public static List<TodoRequest> requests(int from, int count) {
+        List<TodoRequest> requests = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            requests.add(new TodoRequest("Task " + i, "Benchmark description for task " + i, null));
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.todojustforfun.controllers;
+
+import com.example.todojustforfun.BenchmarkData;
+import com.example.todojustforfun.TodoJustForFunApplication;
+import com.example.todojustforfun.services.TodoService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end GET /todos under 1024 concurrent clients, once with Tomcat on platform
+ * threads and once on virtual threads. Throughput and sample-time (p50/p99) are both
+ * reported; each client keeps its own HTTP connection. Non-200 responses, such as 503s from
+ * database admission control, are counted separately so they cannot pass for fast successes.
+ * <p>
+ * ./mvnw -Pbenchmark verify -Djmh.args="ThreadModeLoadBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(1024)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Dspring.jpa.show-sql=false", "-Dlogging.level.root=WARN"})
+public class ThreadModeLoadBenchmark {
+    private static final int SEEDED_TODOS = 1000;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest listTodos;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(TodoJustForFunApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        // One user at 1024 clients would otherwise measure 429s.
+                        "app.ratelimit.enabled=false",
+                        "server.tomcat.max-connections=4096",
+                        "server.tomcat.accept-count=4096"
+                )
+                .run();
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        String email = "load-" + System.nanoTime() + "@example.com";
+        String credentials = "{\"email\":\"" + email + "\",\"password\":\"benchmark\"}";
+        send(baseUrl + "/auth/register", credentials);
+        HttpResponse<String> login = send(baseUrl + "/auth/login", credentials);
+        String sessionCookie = login.headers().firstValue("Set-Cookie").orElseThrow().split(";", 2)[0];
+
+        Long userId = Long.valueOf(login.body().replaceAll(".*\"id\"\\s*:\\s*(\\d+).*", "$1"));
+        context.getBean(TodoService.class).createTodos(BenchmarkData.requests(0, SEEDED_TODOS), userId);
+
+        listTodos = HttpRequest.newBuilder(URI.create(baseUrl + "/todos?limit=50"))
+                .header("Cookie", sessionCookie)
+                .GET()
+                .build();
+        int status = listTodos();
+        if (status != 200) {
+            throw new IllegalStateException("GET /todos returned " + status);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public void listTodos(Responses responses) throws Exception {
+        if (listTodos() == 200) {
+            responses.ok++;
+        } else {
+            responses.failed++;
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+        public long ok;
+        public long failed;
+    }
+
+    private int listTodos() throws Exception {
+        return client.send(listTodos, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpResponse<String> send(String url, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
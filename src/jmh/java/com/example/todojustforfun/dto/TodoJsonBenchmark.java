@@ -0,0 +1,44 @@
+package com.example.todojustforfun.dto;
+
+import com.example.todojustforfun.BenchmarkData;
+import com.example.todojustforfun.mapper.TodoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoJsonBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private List<TodoResponse> responses;
+
+    @Setup
+    public void setUp() {
+        responses = new TodoMapper().toResponseList(BenchmarkData.todos(size));
+    }
+
+    @Benchmark
+    public byte[] serializeList() {
+        return jsonMapper.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.todojustforfun.mapper;
+
+import com.example.todojustforfun.BenchmarkData;
+import com.example.todojustforfun.dto.TodoResponse;
+import com.example.todojustforfun.models.Todo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoMapperBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private final TodoMapper todoMapper = new TodoMapper();
+    private List<Todo> todos;
+
+    @Setup
+    public void setUp() {
+        todos = BenchmarkData.todos(size);
+    }
+
+    @Benchmark
+    public TodoResponse toResponse() {
+        return todoMapper.toResponse(todos.getFirst());
+    }
+
+    @Benchmark
+    public List<TodoResponse> toResponseList() {
+        return todoMapper.toResponseList(todos);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.todojustforfun.services;
+
+import com.example.todojustforfun.BenchmarkData;
+import com.example.todojustforfun.TodoJustForFunApplication;
+import com.example.todojustforfun.dto.TodoBulkItemResult;
+import com.example.todojustforfun.dto.TodoPageResponse;
+import com.example.todojustforfun.models.GroupTodoShare;
+import com.example.todojustforfun.models.User;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of the todo and shared-todo services against the in-memory test
+ * database, seeded through the bulk create path before each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dspring.jpa.show-sql=false", "-Dlogging.level.root=WARN"})
+public class TodoQueryBenchmark {
+    private static final int SEED_BATCH_SIZE = 500;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10", "1000", "100000"})
+    private int todosPerUser;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private GroupTodoShareService groupTodoShareService;
+    private Long userId;
+    private Long groupId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TodoJustForFunApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run();
+        todoService = context.getBean(TodoService.class);
+        groupTodoShareService = context.getBean(GroupTodoShareService.class);
+
+        User user = new User();
+        user.setEmail("bench-" + todosPerUser + "-" + System.nanoTime() + "@example.com");
+        user.setPasswordHash("not-a-real-hash");
+        userId = context.getBean(UserRepository.class).save(user).getId();
+        groupId = context.getBean(GroupService.class).createGroup("Benchmark group", userId).getId();
+
+        GroupTodoShareRepository shareRepository = context.getBean(GroupTodoShareRepository.class);
+        for (int from = 0; from < todosPerUser; from += SEED_BATCH_SIZE) {
+            int count = Math.min(SEED_BATCH_SIZE, todosPerUser - from);
+            List<GroupTodoShare> shares = new ArrayList<>(count);
+            for (TodoBulkItemResult result : todoService.createTodos(BenchmarkData.requests(from, count), userId).results()) {
+                GroupTodoShare share = new GroupTodoShare();
+                share.setGroupId(groupId);
+                share.setTodoId(result.id());
+                shares.add(share);
+            }
+            shareRepository.saveAll(shares);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TodoPageResponse getAllTodos() {
+        return todoService.getAllTodos(userId, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public TodoPageResponse getAllTodosByCompleted() {
+        return todoService.getAllTodosByCompleted(false, userId, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public TodoPageResponse getAllTodosByTitle() {
+        return todoService.getAllTodosByTitle("task 7", userId, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public TodoPageResponse listSharedTodos() {
+        return groupTodoShareService.listSharedTodos(groupId, userId, null, "createdAt", null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public TodoPageResponse listSharedTodosByDueDate() {
+        return groupTodoShareService.listSharedTodos(groupId, userId, userId, "dueDate", null, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.todojustforfun.validation;
+
+import com.example.todojustforfun.models.Todo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoValidationBenchmark {
+
+    private TodoValidator todoValidator;
+    private Todo withDueDate;
+    private Todo withoutDueDate;
+
+    @Setup
+    public void setUp() {
+        todoValidator = new TodoValidator();
+
+        withDueDate = new Todo();
+        withDueDate.setTitle("Write report");
+        withDueDate.setDescription("Quarterly numbers");
+        withDueDate.setDueDate(OffsetDateTime.now().plusDays(7));
+
+        withoutDueDate = new Todo();
+        withoutDueDate.setTitle("Write report");
+        withoutDueDate.setDescription("Quarterly numbers");
+    }
+
+    @Benchmark
+    public Optional<Todo> validateWithDueDate() {
+        return todoValidator.validate(withDueDate);
+    }
+
+    @Benchmark
+    public Optional<Todo> validateWithoutDueDate() {
+        return todoValidator.validate(withoutDueDate);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.todojustforfun.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Archives todos completed longer ago than app.archive.completed-for. Walks the completed_at index
+ * in keyset order, one short transaction per batch, so no lock is held across the whole run.
+ * Runs on every node; concurrent runs block on the same rows briefly and then skip them.
+ */
+@Component
+public class TodoArchiveJob {
+    private static final Logger log = LoggerFactory.getLogger(TodoArchiveJob.class);
+
+    private final TodoArchiver todoArchiver;
+    private final Duration completedFor;
+    private final int batchSize;
+    private final Counter archivedCounter;
+
+    public TodoArchiveJob(
+            TodoArchiver todoArchiver,
+            @Value("${app.archive.completed-for:P30D}") Duration completedFor,
+            @Value("${app.archive.batch-size:500}") int batchSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.todoArchiver = todoArchiver;
+        this.completedFor = completedFor;
+        this.batchSize = batchSize;
+        this.archivedCounter = meterRegistry.counter("todos.archived");
+    }
+
+    @Scheduled(fixedDelayString = "${app.archive.interval:PT1H}")
+    public int archiveCompleted() {
+        Instant cutoff = Instant.now().minus(completedFor);
+        Instant afterCompletedAt = Instant.EPOCH;
+        long afterId = 0;
+        int archived = 0;
+        TodoArchiver.Batch batch;
+        do {
+            batch = todoArchiver.archiveBatch(cutoff, afterCompletedAt, afterId, batchSize);
+            archived += batch.archived();
+            archivedCounter.increment(batch.archived());
+            afterCompletedAt = batch.lastCompletedAt();
+            afterId = batch.lastId();
+        } while (batch.scanned() == batchSize);
+
+        if (archived > 0) {
+            log.info("Archived {} todos completed before {}", archived, cutoff);
+        }
+        return archived;
+    }
+}
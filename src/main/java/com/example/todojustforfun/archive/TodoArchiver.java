@@ -0,0 +1,85 @@
+package com.example.todojustforfun.archive;
+
+import com.example.todojustforfun.etag.ContentVersions;
+import com.example.todojustforfun.models.GroupTodoShare;
+import com.example.todojustforfun.models.Todo;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.search.TodoSearchIndex;
+import com.example.todojustforfun.stats.TodoStats;
+import com.example.todojustforfun.transaction.AfterCommit;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves one batch of long-completed todos from todos into todos_archive.
+ * Shares are kept and keep pointing at the archived id. Versions are bumped before the todos
+ * are locked, in the same user-then-group order the write paths use, so an archival batch
+ * cannot deadlock with a concurrent edit.
+ */
+@Component
+public class TodoArchiver {
+    private final TodoRepository todoRepository;
+    private final GroupTodoShareRepository groupTodoShareRepository;
+    private final ContentVersions contentVersions;
+    private final TodoSearchIndex todoSearchIndex;
+    private final TodoStats todoStats;
+
+    public TodoArchiver(
+            TodoRepository todoRepository,
+            GroupTodoShareRepository groupTodoShareRepository,
+            ContentVersions contentVersions,
+            TodoSearchIndex todoSearchIndex,
+            TodoStats todoStats
+    ) {
+        this.todoRepository = todoRepository;
+        this.groupTodoShareRepository = groupTodoShareRepository;
+        this.contentVersions = contentVersions;
+        this.todoSearchIndex = todoSearchIndex;
+        this.todoStats = todoStats;
+    }
+
+    /**
+     * Archives up to batchSize todos completed before the cutoff, continuing after the given key.
+     */
+    @Transactional
+    public Batch archiveBatch(Instant cutoff, Instant afterCompletedAt, long afterId, int batchSize) {
+        List<Todo> candidates = todoRepository.findArchivable(cutoff, afterCompletedAt, afterId, Limit.of(batchSize));
+        if (candidates.isEmpty()) {
+            return new Batch(0, 0, afterCompletedAt, afterId);
+        }
+        List<Long> ids = candidates.stream().map(Todo::getId).toList();
+
+        // Archived todos drop out of their owners' lists and of the default shared lists.
+        candidates.stream().map(Todo::getUserId).distinct().sorted()
+                .forEach(userId -> contentVersions.todosChanged(userId, List.of()));
+        List<GroupTodoShare> shares = groupTodoShareRepository.findAllByTodoIdIn(ids);
+        shares.stream().map(GroupTodoShare::getGroupId).distinct().sorted()
+                .forEach(contentVersions::groupSharesChanged);
+
+        List<Todo> locked = todoRepository.lockArchivable(ids, cutoff);
+        if (!locked.isEmpty()) {
+            List<Long> lockedIds = locked.stream().map(Todo::getId).toList();
+            todoRepository.copyToArchive(lockedIds, Instant.now());
+            todoRepository.deleteAllByIdIn(lockedIds);
+            todoStats.todosRemoved(locked, shares);
+            AfterCommit.run(() -> locked.forEach(todoSearchIndex::onDeleted));
+        }
+
+        Todo last = candidates.getLast();
+        return new Batch(candidates.size(), locked.size(), last.getCompletedAt(), last.getId());
+    }
+
+    /**
+     * @param scanned          Candidates read; fewer than the batch size means the backlog is done
+     * @param archived         Todos actually moved
+     * @param lastCompletedAt  Keyset position to continue from
+     * @param lastId           Keyset position to continue from
+     */
+    public record Batch(int scanned, int archived, Instant lastCompletedAt, long lastId) {
+    }
+}
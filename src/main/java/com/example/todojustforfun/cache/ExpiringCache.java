@@ -0,0 +1,112 @@
+package com.example.todojustforfun.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Bounded, per-node cache with a fixed time-to-live.
+ * Reads are lock-free. When a new key would exceed the size bound, one caller purges expired
+ * entries and then drops arbitrary ones down to 90% of the bound, so the scan is paid once per
+ * tenth of the capacity rather than on every miss; refreshing a cached key never evicts.
+ * Hit/miss counters, evictions (expired or dropped) and size are published as cache.requests,
+ * cache.evictions and cache.size tagged with the cache name.
+ */
+public class ExpiringCache<K, V> {
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxSize;
+    private final int purgeTarget;
+    private final AtomicBoolean purging = new AtomicBoolean();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ExpiringCache(String name, Duration ttl, int maxSize, MeterRegistry meterRegistry) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+        this.purgeTarget = maxSize - Math.max(1, maxSize / 10);
+        this.hits = meterRegistry.counter("cache.requests", "cache", name, "result", "hit");
+        this.misses = meterRegistry.counter("cache.requests", "cache", name, "result", "miss");
+        this.evictions = meterRegistry.counter("cache.evictions", "cache", name);
+        Gauge.builder("cache.size", entries, Map::size).tag("cache", name).register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached value, or resolves it with the loader and caches the result.
+     * Empty results are never cached.
+     */
+    public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+        long now = System.nanoTime();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAt - now > 0) {
+            hits.increment();
+            return Optional.of(entry.value);
+        }
+
+        misses.increment();
+        Optional<V> loaded = loader.apply(key);
+        loaded.ifPresent(value -> put(key, value));
+        return loaded;
+    }
+
+    /**
+     * Returns the cached value without loading it and without counting a request.
+     */
+    public Optional<V> getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null && entry.expiresAt - System.nanoTime() > 0 ? Optional.of(entry.value) : Optional.empty();
+    }
+
+    public void put(K key, V value) {
+        long now = System.nanoTime();
+        if (entries.size() >= maxSize && !entries.containsKey(key) && purging.compareAndSet(false, true)) {
+            try {
+                purge(now);
+            } finally {
+                purging.set(false);
+            }
+        }
+        entries.put(key, new Entry<>(value, now + ttlNanos));
+    }
+
+    public void evict(K key) {
+        if (key != null && entries.remove(key) != null) {
+            evictions.increment();
+        }
+    }
+
+    public void evictAll() {
+        int size = entries.size();
+        entries.clear();
+        evictions.increment(size);
+    }
+
+    private void purge(long now) {
+        Iterator<Entry<V>> values = entries.values().iterator();
+        while (values.hasNext()) {
+            if (values.next().expiresAt - now <= 0) {
+                values.remove();
+                evictions.increment();
+            }
+        }
+
+        Iterator<K> keys = entries.keySet().iterator();
+        while (entries.size() > purgeTarget && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            evictions.increment();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.todojustforfun.cache;
+
+import com.example.todojustforfun.dto.GroupSummaryPageResponse;
+import com.example.todojustforfun.repositories.GroupMemberRepository;
+import com.example.todojustforfun.transaction.AfterCommit;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Per-node cache of the first page of each user's group summaries, the one every group list opens
+ * with; later pages are rare and read through. Each user has a single entry, so a request with a
+ * different limit reloads the page and replaces it. A change to a group's members or to its
+ * shared-todo count evicts every member of the group, since each of them sees the new counts.
+ * Eviction happens both immediately and after commit and bumps the user's generation; a page
+ * whose load overlapped an eviction is dropped again, since it may have read the counts from
+ * before the writing transaction committed. Changes made on other nodes are bounded by the TTL.
+ */
+@Component
+public class GroupSummaryCache {
+    private final GroupMemberRepository groupMemberRepository;
+    private static final int GENERATION_STRIPES = 256;
+
+    private final ExpiringCache<Long, FirstPage> firstPages;
+    /** Eviction counts striped by user; a shared stripe only costs an occasional extra reload. */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public GroupSummaryCache(
+            GroupMemberRepository groupMemberRepository,
+            @Value("${app.groups.summary-cache.ttl:PT30S}") Duration ttl,
+            @Value("${app.groups.summary-cache.max-size:10000}") int maxSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.groupMemberRepository = groupMemberRepository;
+        this.firstPages = new ExpiringCache<>("group-summaries", ttl, maxSize, meterRegistry);
+    }
+
+    public GroupSummaryPageResponse get(Long userId, long afterId, int limit, Supplier<GroupSummaryPageResponse> loader) {
+        if (afterId != 0) {
+            return loader.get();
+        }
+        int stripe = stripe(userId);
+        long generation = generations.get(stripe);
+        FirstPage cached = firstPages.get(userId, id -> Optional.of(new FirstPage(limit, loader.get()))).orElseThrow();
+        if (cached.limit() != limit) {
+            cached = new FirstPage(limit, loader.get());
+            firstPages.put(userId, cached);
+        }
+        // Checked after the put: an eviction either sees the new entry or bumps the generation first.
+        if (generations.get(stripe) != generation) {
+            firstPages.evict(userId);
+        }
+        return cached.page();
+    }
+
+    /**
+     * @param userId The member who joined or left; no longer found among the members once removed
+     */
+    public void membershipChanged(Long groupId, Long userId) {
+        Set<Long> userIds = new HashSet<>(groupMemberRepository.findUserIdsByGroupId(groupId));
+        userIds.add(userId);
+        evict(userIds);
+    }
+
+    public void sharesChanged(Long groupId) {
+        evict(Set.copyOf(groupMemberRepository.findUserIdsByGroupId(groupId)));
+    }
+
+    private void evict(Set<Long> userIds) {
+        userIds.forEach(this::evict);
+        AfterCommit.run(() -> userIds.forEach(this::evict));
+    }
+
+    private void evict(Long userId) {
+        generations.incrementAndGet(stripe(userId));
+        firstPages.evict(userId);
+    }
+
+    private static int stripe(Long userId) {
+        return Math.floorMod(userId.hashCode(), GENERATION_STRIPES);
+    }
+
+    private record FirstPage(int limit, GroupSummaryPageResponse page) {
+    }
+}
@@ -12,16 +12,17 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.web.context.SecurityContextRepository;
-import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.security.core.context.SecurityContext;
 
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
     private final AuthService authService;
+    private final SecurityContextRepository securityContextRepository;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, SecurityContextRepository securityContextRepository) {
         this.authService = authService;
+        this.securityContextRepository = securityContextRepository;
     }
 
     @PostMapping("/login")
@@ -36,10 +37,7 @@ public class AuthController {
 
         SecurityContextHolder.setContext(context);
 
-        httpRequest.getSession(true);
-
-        SecurityContextRepository repository = new HttpSessionSecurityContextRepository();
-        repository.saveContext(context, httpRequest, httpResponse);
+        securityContextRepository.saveContext(context, httpRequest, httpResponse);
 
         UserResponse user = authService.getCurrentUser(authentication);
         return ResponseEntity.ok(user);
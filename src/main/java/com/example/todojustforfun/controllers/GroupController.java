@@ -5,20 +5,23 @@ import com.example.todojustforfun.dto.GroupJoinRequest;
 import com.example.todojustforfun.dto.GroupMemberAddRequest;
 import com.example.todojustforfun.dto.GroupMemberResponse;
 import com.example.todojustforfun.dto.GroupResponse;
+import com.example.todojustforfun.dto.GroupSummaryPageResponse;
 import com.example.todojustforfun.dto.GroupTodoShareRequest;
 import com.example.todojustforfun.dto.GroupTodoShareResponse;
-import com.example.todojustforfun.dto.TodoResponse;
+import com.example.todojustforfun.dto.TodoChangesResponse;
+import com.example.todojustforfun.dto.TodoPageResponse;
+import com.example.todojustforfun.dto.TodoStatsResponse;
 import com.example.todojustforfun.dto.UserResponse;
-import com.example.todojustforfun.mapper.TodoMapper;
+import com.example.todojustforfun.etag.ConditionalRead;
 import com.example.todojustforfun.models.Group;
 import com.example.todojustforfun.models.GroupMember;
 import com.example.todojustforfun.models.GroupTodoShare;
-import com.example.todojustforfun.models.Todo;
 import com.example.todojustforfun.services.AuthService;
 import com.example.todojustforfun.services.GroupMemberService;
 import com.example.todojustforfun.services.GroupService;
 import com.example.todojustforfun.services.GroupTodoShareService;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -26,9 +29,12 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -41,20 +47,20 @@ public class GroupController {
     private final GroupMemberService groupMemberService;
     private final GroupTodoShareService groupTodoShareService;
     private final AuthService authService;
-    private final TodoMapper todoMapper;
+    private final ConditionalRead conditionalRead;
 
     public GroupController(
             GroupService groupService,
             GroupMemberService groupMemberService,
             GroupTodoShareService groupTodoShareService,
             AuthService authService,
-            TodoMapper todoMapper
+            ConditionalRead conditionalRead
     ) {
         this.groupService = groupService;
         this.groupMemberService = groupMemberService;
         this.groupTodoShareService = groupTodoShareService;
         this.authService = authService;
-        this.todoMapper = todoMapper;
+        this.conditionalRead = conditionalRead;
     }
 
     @GetMapping
@@ -64,6 +70,19 @@ public class GroupController {
         return ResponseEntity.ok(groups.stream().map(this::toGroupResponse).toList());
     }
 
+    /**
+     * The caller's groups with member and shared-todo counts, so listing them needs no call per group.
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<GroupSummaryPageResponse> listGroupSummaries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            Authentication authentication
+    ) {
+        UserResponse currentUser = authService.getCurrentUser(authentication);
+        return ResponseEntity.ok(groupService.listGroupSummaries(currentUser.id(), cursor, limit));
+    }
+
     @PostMapping
     public ResponseEntity<GroupResponse> createGroup(
             @Valid @RequestBody GroupCreateRequest request,
@@ -128,14 +147,49 @@ public class GroupController {
     }
 
     @GetMapping("/{id}/shared-todos")
-    public ResponseEntity<List<TodoResponse>> getSharedTodos(
+    public ResponseEntity<TodoPageResponse> getSharedTodos(
             @PathVariable Long id,
             @RequestParam(required = false) Long ownerId,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            Authentication authentication,
+            WebRequest webRequest
+    ) {
+        UserResponse currentUser = authService.getCurrentUser(authentication);
+        return conditionalRead.respond(webRequest,
+                () -> groupTodoShareService.getSharedTodosETag(
+                        id, currentUser.id(), ownerId, sort, cursor, limit, includeArchived),
+                () -> groupTodoShareService.listSharedTodos(
+                        id, currentUser.id(), ownerId, sort, cursor, limit, includeArchived));
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<TodoStatsResponse> getStats(@PathVariable Long id, Authentication authentication) {
+        UserResponse currentUser = authService.getCurrentUser(authentication);
+        return ResponseEntity.ok(groupTodoShareService.getStats(id, currentUser.id()));
+    }
+
+    @GetMapping("/{id}/shared-todos/changes")
+    public ResponseEntity<TodoChangesResponse> getSharedTodoChanges(
+            @PathVariable Long id,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int limit,
+            Authentication authentication
+    ) {
+        UserResponse currentUser = authService.getCurrentUser(authentication);
+        return ResponseEntity.ok(groupTodoShareService.getSharedTodoChanges(id, currentUser.id(), since, limit));
+    }
+
+    @GetMapping(path = "/{id}/shared-todos/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSharedTodos(
+            @PathVariable Long id,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
             Authentication authentication
     ) {
         UserResponse currentUser = authService.getCurrentUser(authentication);
-        List<Todo> todos = groupTodoShareService.listSharedTodos(id, currentUser.id(), ownerId);
-        return ResponseEntity.ok(todoMapper.toResponseList(todos));
+        return groupTodoShareService.subscribe(id, currentUser.id(), lastEventId);
     }
 
     @PostMapping("/{id}/shared-todos")
@@ -1,52 +1,185 @@
 package com.example.todojustforfun.controllers;
 
+import com.example.todojustforfun.dto.TodoBulkCompleteRequest;
+import com.example.todojustforfun.dto.TodoBulkCreateRequest;
+import com.example.todojustforfun.dto.TodoBulkDeleteRequest;
+import com.example.todojustforfun.dto.TodoBulkResponse;
+import com.example.todojustforfun.dto.TodoBulkUpdateRequest;
+import com.example.todojustforfun.dto.TodoChangesResponse;
+import com.example.todojustforfun.dto.TodoPageResponse;
 import com.example.todojustforfun.dto.TodoRequest;
 import com.example.todojustforfun.dto.TodoResponse;
+import com.example.todojustforfun.dto.TodoStatsResponse;
 import com.example.todojustforfun.dto.UserResponse;
+import com.example.todojustforfun.etag.ConditionalRead;
+import com.example.todojustforfun.export.TodoExporter;
 import com.example.todojustforfun.services.AuthService;
 import com.example.todojustforfun.services.TodoService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
-import java.util.List;
+import java.time.OffsetDateTime;
 
 @RestController
 @RequestMapping("/todos")
 public class TodoController {
+    private static final String DEFAULT_PAGE_SIZE = "50";
+    private static final String DEFAULT_CHANGES_PAGE_SIZE = "100";
+
     private final TodoService todoService;
     private final AuthService authService;
+    private final TodoExporter todoExporter;
+    private final ConditionalRead conditionalRead;
 
-    public TodoController(TodoService todoService, AuthService authService) {
+    public TodoController(
+            TodoService todoService,
+            AuthService authService,
+            TodoExporter todoExporter,
+            ConditionalRead conditionalRead
+    ) {
         this.todoService = todoService;
         this.authService = authService;
+        this.todoExporter = todoExporter;
+        this.conditionalRead = conditionalRead;
     }
 
+    /**
+     * Archived todos are left out unless includeArchived is set.
+     */
     @GetMapping
-    public ResponseEntity<List<TodoResponse>> getAllTodos(Authentication authentication) {
+    public ResponseEntity<TodoPageResponse> getAllTodos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            Authentication authentication,
+            WebRequest webRequest
+    ) {
+        UserResponse currentUser = authService.getCurrentUser(authentication);
+        return conditionalRead.respond(webRequest,
+                () -> todoService.getTodosETag(currentUser.id(), "all", cursor, limit, includeArchived),
+                () -> todoService.getAllTodos(currentUser.id(), cursor, limit, includeArchived));
+    }
+
+    /**
+     * Every live todo as one JSON array, written item by item while the rows are read,
+     * so neither the entities nor the response are held in memory as a whole.
+     */
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTodos(Authentication authentication, WebRequest webRequest) {
         UserResponse currentUser = authService.getCurrentUser(authentication);
-        return ResponseEntity.ok(todoService.getAllTodos(currentUser.id()));
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(todoExporter.export(currentUser.id(), webRequest));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<TodoResponse>> getAllTodosByTitle(@RequestParam String title, Authentication authentication) {
+    public ResponseEntity<TodoPageResponse> getAllTodosByTitle(
+            @RequestParam String title,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            Authentication authentication,
+            WebRequest webRequest
+    ) {
         UserResponse currentUser = authService.getCurrentUser(authentication);
-        return ResponseEntity.ok(todoService.getAllTodosByTitle(title, currentUser.id()));
+        return conditionalRead.respond(webRequest,
+                () -> todoService.getTodosETag(currentUser.id(), "search", title, limit),
+                () -> todoService.getAllTodosByTitle(title, currentUser.id(), limit));
     }
 
     @GetMapping("/completed")
-    public ResponseEntity<List<TodoResponse>> getAllTodosByCompleted(@RequestParam Boolean completed, Authentication authentication) {
+    public ResponseEntity<TodoPageResponse> getAllTodosByCompleted(
+            @RequestParam Boolean completed,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            Authentication authentication,
+            WebRequest webRequest
+    ) {
+        UserResponse currentUser = authService.getCurrentUser(authentication);
+        return conditionalRead.respond(webRequest,
+                () -> todoService.getTodosETag(currentUser.id(), "completed", completed, cursor, limit, includeArchived),
+                () -> todoService.getAllTodosByCompleted(completed, currentUser.id(), cursor, limit, includeArchived));
+    }
+
+    /**
+     * Not conditional: todos become overdue as time passes, without a write to version the list by.
+     */
+    @GetMapping("/overdue")
+    public ResponseEntity<TodoPageResponse> getOverdueTodos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            Authentication authentication
+    ) {
+        UserResponse currentUser = authService.getCurrentUser(authentication);
+        return ResponseEntity.ok(todoService.getOverdueTodos(currentUser.id(), cursor, limit));
+    }
+
+    @GetMapping("/due")
+    public ResponseEntity<TodoPageResponse> getTodosDueBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            Authentication authentication,
+            WebRequest webRequest
+    ) {
+        UserResponse currentUser = authService.getCurrentUser(authentication);
+        return conditionalRead.respond(webRequest,
+                () -> todoService.getTodosETag(currentUser.id(), "due", from.toInstant(), to.toInstant(), cursor, limit),
+                () -> todoService.getTodosDueBetween(currentUser.id(), from, to, cursor, limit));
+    }
+
+    @GetMapping("/sorted")
+    public ResponseEntity<TodoPageResponse> getSortedTodos(
+            @RequestParam(defaultValue = "dueDate") String sort,
+            @RequestParam(defaultValue = "false") Boolean completed,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            Authentication authentication,
+            WebRequest webRequest
+    ) {
+        UserResponse currentUser = authService.getCurrentUser(authentication);
+        return conditionalRead.respond(webRequest,
+                () -> todoService.getTodosETag(currentUser.id(), "sorted", sort, completed, cursor, limit),
+                () -> todoService.getSortedTodos(currentUser.id(), completed, sort, cursor, limit));
+    }
+
+    /**
+     * Counters kept by the write paths; only overdue is counted on read.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<TodoStatsResponse> getStats(Authentication authentication) {
         UserResponse currentUser = authService.getCurrentUser(authentication);
-        return ResponseEntity.ok(todoService.getAllTodosByCompleted(completed, currentUser.id()));
+        return ResponseEntity.ok(todoService.getStats(currentUser.id()));
+    }
+
+    /**
+     * Delta sync: the todos created, changed or deleted since the cursor of the previous call.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<TodoChangesResponse> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = DEFAULT_CHANGES_PAGE_SIZE) int limit,
+            Authentication authentication
+    ) {
+        UserResponse currentUser = authService.getCurrentUser(authentication);
+        return ResponseEntity.ok(todoService.getChanges(currentUser.id(), since, limit));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TodoResponse> getTodoById(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<TodoResponse> getTodoById(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            Authentication authentication
+    ) {
         UserResponse currentUser = authService.getCurrentUser(authentication);
-        return ResponseEntity.ok(todoService.getTodoById(id, currentUser.id()));
+        return ResponseEntity.ok(todoService.getTodoById(id, currentUser.id(), includeArchived));
     }
 
     @PostMapping
@@ -81,4 +214,28 @@ public class TodoController {
         todoService.deleteTodoById(id, currentUser.id());
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<TodoBulkResponse> createTodos(@Valid @RequestBody TodoBulkCreateRequest request, Authentication authentication) {
+        UserResponse currentUser = authService.getCurrentUser(authentication);
+        return ResponseEntity.ok(todoService.createTodos(request.items(), currentUser.id()));
+    }
+
+    @PutMapping("/bulk")
+    public ResponseEntity<TodoBulkResponse> updateTodos(@Valid @RequestBody TodoBulkUpdateRequest request, Authentication authentication) {
+        UserResponse currentUser = authService.getCurrentUser(authentication);
+        return ResponseEntity.ok(todoService.updateTodos(request.items(), currentUser.id()));
+    }
+
+    @PutMapping("/bulk/complete")
+    public ResponseEntity<TodoBulkResponse> completeTodos(@Valid @RequestBody TodoBulkCompleteRequest request, Authentication authentication) {
+        UserResponse currentUser = authService.getCurrentUser(authentication);
+        return ResponseEntity.ok(todoService.completeTodos(request.ids(), request.completed(), currentUser.id()));
+    }
+
+    @DeleteMapping("/bulk")
+    public ResponseEntity<TodoBulkResponse> deleteTodos(@Valid @RequestBody TodoBulkDeleteRequest request, Authentication authentication) {
+        UserResponse currentUser = authService.getCurrentUser(authentication);
+        return ResponseEntity.ok(todoService.deleteTodos(request.ids(), currentUser.id()));
+    }
 }
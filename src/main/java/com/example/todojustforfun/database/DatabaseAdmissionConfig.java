@@ -0,0 +1,63 @@
+package com.example.todojustforfun.database;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.db.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class DatabaseAdmissionConfig {
+    /**
+     * The pool, or the replica router in front of both pools; any other DataSource bean is left alone.
+     */
+    private static final String APPLICATION_DATA_SOURCE = "dataSource";
+
+    @Bean
+    static BeanPostProcessor admissionControlledDataSourcePostProcessor(
+            @Value("${app.db.admission.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${app.db.admission.max-waiting:1000}") int maxWaiting,
+            @Value("${app.db.admission.timeout:PT2S}") Duration timeout
+    ) {
+        return new OrderedPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && APPLICATION_DATA_SOURCE.equals(beanName)
+                        ? new AdmissionControlledDataSource(dataSource, permits, maxWaiting, timeout)
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder databaseAdmissionMetrics(DataSource dataSource) throws SQLException {
+        AdmissionControlledDataSource admission = dataSource.unwrap(AdmissionControlledDataSource.class);
+        return registry -> {
+            Gauge.builder("db.admission.available", admission, AdmissionControlledDataSource::availablePermits)
+                    .register(registry);
+            Gauge.builder("db.admission.waiting", admission, AdmissionControlledDataSource::waiting)
+                    .register(registry);
+            FunctionCounter.builder("db.admission.rejected", admission, AdmissionControlledDataSource::rejected)
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Wraps the pool before any other DataSource decorator so unwrap() from the outside still finds it.
+     */
+    private interface OrderedPostProcessor extends BeanPostProcessor, Ordered {
+        @Override
+        default int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.todojustforfun.database;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Thrown instead of queueing for a connection when the admission limit is reached.
+ */
+public class DatabaseBusyException extends SQLTransientConnectionException {
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+}
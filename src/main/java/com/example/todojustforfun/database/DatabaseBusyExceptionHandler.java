@@ -0,0 +1,24 @@
+package com.example.todojustforfun.database;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Turns an admission rejection into 503 with Retry-After so clients back off instead of piling up.
+ * Matches the rejection anywhere in the cause chain, whether it surfaced from opening a transaction
+ * or from a repository call translated by Spring Data; {@link DatabaseBusyFilter} covers the filters.
+ */
+@RestControllerAdvice
+public class DatabaseBusyExceptionHandler {
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    @ExceptionHandler(DatabaseBusyException.class)
+    public ResponseEntity<Void> handle(DatabaseBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.todojustforfun.database;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.transaction.autoconfigure.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Replaces the auto-configured pool with a primary and a replica pool behind
+ * {@link ReadReplicaRoutingDataSource} when app.datasource.replica.url is set. The primary is
+ * configured from spring.datasource.*, the replica from app.datasource.replica.* with pool settings
+ * defaulting to the primary's; both pools report hikaricp.* metrics tagged with their pool name.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReadReplicaConfig {
+    /**
+     * Zero while the replica has replayed everything it received, otherwise the age of the last
+     * replayed transaction, so an idle primary does not read as lag.
+     */
+    static final String POSTGRES_LAG_QUERY = """
+            select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                        else extract(epoch from now() - pg_last_xact_replay_timestamp()) end
+            """;
+
+    @Bean
+    ReplicaPools replicaPools(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        HikariDataSource replica = new HikariDataSource();
+        replica.setDriverClassName(properties.determineDriverClassName());
+        replica.setJdbcUrl(environment.getRequiredProperty("app.datasource.replica.url"));
+        replica.setUsername(environment.getProperty("app.datasource.replica.username", properties.determineUsername()));
+        replica.setPassword(environment.getProperty("app.datasource.replica.password", properties.determinePassword()));
+        replica.setMaximumPoolSize(primary.getMaximumPoolSize());
+        replica.setMinimumIdle(primary.getMinimumIdle());
+        replica.setConnectionTimeout(primary.getConnectionTimeout());
+        binder.bind("app.datasource.replica.hikari", Bindable.ofInstance(replica));
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+        primary.setMetricsTrackerFactory(metrics);
+        replica.setMetricsTrackerFactory(metrics);
+        return new ReplicaPools(primary, replica);
+    }
+
+    @Bean
+    ReplicaHealth replicaHealth(
+            ReplicaPools pools,
+            @Value("${app.datasource.replica.lag-query:}") String lagQuery,
+            @Value("${app.datasource.replica.max-lag:PT2S}") Duration maxLag,
+            MeterRegistry meterRegistry
+    ) {
+        return new ReplicaHealth(pools.replica(), lagQuery.isBlank() ? POSTGRES_LAG_QUERY : lagQuery, maxLag, meterRegistry);
+    }
+
+    @Bean
+    ReadYourWrites readYourWrites(@Value("${app.datasource.replica.read-your-writes-window:PT5S}") Duration window) {
+        return new ReadYourWrites(window);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(ReplicaPools pools, ReplicaHealth replicaHealth, ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        return new ReadReplicaRoutingDataSource(pools.primary(), pools.replica(), replicaHealth, readYourWrites, meterRegistry);
+    }
+
+    @Bean
+    RoutingTransactionManager transactionManager(
+            ReadYourWrites readYourWrites,
+            ObjectProvider<TransactionManagerCustomizers> customizers
+    ) {
+        RoutingTransactionManager transactionManager = new RoutingTransactionManager(readYourWrites);
+        customizers.ifAvailable(customizer -> customizer.customize(transactionManager));
+        return transactionManager;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.todojustforfun.database;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out replica connections to {@link ReplicaRead} transactions and primary connections to
+ * everything else. A replica read still goes to the primary inside the client's read-your-writes
+ * window, while the replica lags past its bound, or when a replica connection cannot be had.
+ * Primary connections report their writes through {@link WriteTracking}.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource {
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaHealth replicaHealth;
+    private final ReadYourWrites readYourWrites;
+    private final Counter replicaReads;
+    private final Counter readYourWritesReads;
+    private final Counter unavailableReads;
+    private final Counter failedOverReads;
+
+    public ReadReplicaRoutingDataSource(
+            DataSource primary,
+            DataSource replica,
+            ReplicaHealth replicaHealth,
+            ReadYourWrites readYourWrites,
+            MeterRegistry meterRegistry
+    ) {
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaHealth = replicaHealth;
+        this.readYourWrites = readYourWrites;
+        this.replicaReads = meterRegistry.counter("db.routing.reads", "target", "replica", "reason", "replica-read");
+        this.readYourWritesReads = meterRegistry.counter("db.routing.reads", "target", "primary", "reason", "read-your-writes");
+        this.unavailableReads = meterRegistry.counter("db.routing.reads", "target", "primary", "reason", "replica-unavailable");
+        this.failedOverReads = meterRegistry.counter("db.routing.reads", "target", "primary", "reason", "replica-error");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReadRouting.replicaEligible()) {
+            return primaryConnection();
+        }
+        if (readYourWrites.requiresPrimary()) {
+            readYourWritesReads.increment();
+            return primaryConnection();
+        }
+        if (!replicaHealth.isAvailable()) {
+            unavailableReads.increment();
+            return primaryConnection();
+        }
+
+        try {
+            Connection connection = replica.getConnection();
+            ReadRouting.markOnReplica();
+            replicaReads.increment();
+            return connection;
+        } catch (SQLException e) {
+            replicaHealth.markUnavailable(e);
+            failedOverReads.increment();
+            return primaryConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return WriteTracking.wrap(primary.getConnection(username, password));
+    }
+
+    private Connection primaryConnection() throws SQLException {
+        return WriteTracking.wrap(primary.getConnection());
+    }
+}
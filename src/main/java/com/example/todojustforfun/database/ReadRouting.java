@@ -0,0 +1,71 @@
+package com.example.todojustforfun.database;
+
+/**
+ * Routing state of the transactions on the current thread: whether the transaction may read from
+ * the replica, whether its connection actually came from there, and whether it ran a statement
+ * that can change rows. Transactions nest, so the state
+ * is a stack maintained by {@link RoutingTransactionManager}.
+ */
+public final class ReadRouting {
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    /**
+     * @return True when the current transaction's connection is a replica connection
+     */
+    public static boolean onReplica() {
+        Scope scope = CURRENT.get();
+        return scope != null && scope.onReplica;
+    }
+
+    static boolean replicaEligible() {
+        Scope scope = CURRENT.get();
+        return scope != null && scope.replicaEligible;
+    }
+
+    static void begin(boolean replicaEligible) {
+        CURRENT.set(new Scope(replicaEligible, CURRENT.get()));
+    }
+
+    static void markOnReplica() {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.onReplica = true;
+        }
+    }
+
+    static void markWrote() {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.wrote = true;
+        }
+    }
+
+    static boolean wrote() {
+        Scope scope = CURRENT.get();
+        return scope != null && scope.wrote;
+    }
+
+    static void end() {
+        Scope scope = CURRENT.get();
+        if (scope == null || scope.previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(scope.previous);
+        }
+    }
+
+    private static final class Scope {
+        private final boolean replicaEligible;
+        private final Scope previous;
+        private boolean onReplica;
+        private boolean wrote;
+
+        private Scope(boolean replicaEligible, Scope previous) {
+            this.replicaEligible = replicaEligible;
+            this.previous = previous;
+        }
+    }
+}
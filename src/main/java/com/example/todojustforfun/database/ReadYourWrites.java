@@ -0,0 +1,73 @@
+package com.example.todojustforfun.database;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Keeps a client's replica reads on the primary for a short window after it wrote. The window
+ * travels in a cookie rather than node memory, so it holds whichever node serves the next request.
+ * Outside a web request there is no client to track and nothing is recorded.
+ */
+public class ReadYourWrites {
+    static final String COOKIE_NAME = "primary_reads_until";
+    private static final String WRITTEN_ATTRIBUTE = ReadYourWrites.class.getName() + ".written";
+
+    private final Duration window;
+
+    public ReadYourWrites(Duration window) {
+        this.window = window;
+    }
+
+    void markWritten() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        if (request.getAttribute(WRITTEN_ATTRIBUTE) != null) {
+            return;
+        }
+        request.setAttribute(WRITTEN_ATTRIBUTE, Boolean.TRUE);
+
+        HttpServletResponse response = attributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, Long.toString(System.currentTimeMillis() + window.toMillis()))
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .path("/")
+                    .maxAge(window)
+                    .build();
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        }
+    }
+
+    boolean requiresPrimary() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        if (request.getAttribute(WRITTEN_ATTRIBUTE) != null) {
+            return true;
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
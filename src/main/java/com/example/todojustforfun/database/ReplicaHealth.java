@@ -0,0 +1,65 @@
+package com.example.todojustforfun.database;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Periodically measures replica lag with a configurable query returning seconds behind the primary.
+ * The replica counts as available only while the last probe succeeded within the lag bound; it
+ * starts unavailable and a failed replica connection takes it out until the next good probe.
+ */
+public class ReplicaHealth {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealth.class);
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private volatile boolean available;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaHealth(DataSource replica, String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        Gauge.builder("db.replica.lag", this, health -> health.lagSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("db.replica.available", this, health -> health.available ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.check-interval:PT2S}")
+    public void check() {
+        try {
+            Double lag = replica.queryForObject(lagQuery, Double.class);
+            lagSeconds = lag == null ? Double.NaN : lag;
+            boolean withinBound = lag != null && lag <= maxLagSeconds;
+            if (available && !withinBound) {
+                log.warn("Replica lag {}s exceeds {}s, routing reads to the primary", lag, maxLagSeconds);
+            }
+            available = withinBound;
+        } catch (DataAccessException e) {
+            markUnavailable(e);
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    void markUnavailable(Exception cause) {
+        if (available) {
+            log.warn("Replica unavailable, routing reads to the primary: {}", cause.getMessage());
+        }
+        available = false;
+        lagSeconds = Double.NaN;
+    }
+}
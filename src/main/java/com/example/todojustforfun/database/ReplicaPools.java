@@ -0,0 +1,15 @@
+package com.example.todojustforfun.database;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * The two pools behind {@link ReadReplicaRoutingDataSource}. Kept as a non-DataSource bean so the
+ * DataSource post-processors wrap only the routing data source, and so the pools close on shutdown.
+ */
+record ReplicaPools(HikariDataSource primary, HikariDataSource replica) implements AutoCloseable {
+    @Override
+    public void close() {
+        replica.close();
+        primary.close();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.todojustforfun.database;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Read-only transaction that may be served by the read replica when one is configured.
+ * Only the outermost transaction decides; called inside a read-write transaction it stays on the primary.
+ * Use it for reads that tolerate the replica lag bound, not for reads that feed a later write.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true, label = ReplicaRead.LABEL)
+public @interface ReplicaRead {
+    String LABEL = "replica-read";
+}
@@ -0,0 +1,52 @@
+package com.example.todojustforfun.database;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+/**
+ * JPA transaction manager that tells {@link ReadReplicaRoutingDataSource} which transactions may
+ * read from the replica, and opens the read-your-writes window after each commit that wrote rows;
+ * read-write transactions that only read leave later reads free to use the replica.
+ * Hibernate fetches the connection of a read-only transaction inside doBegin, so the routing
+ * state is in place before the data source picks a pool.
+ */
+public class RoutingTransactionManager extends JpaTransactionManager {
+    private final ReadYourWrites readYourWrites;
+
+    public RoutingTransactionManager(ReadYourWrites readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        ReadRouting.begin(definition.isReadOnly()
+                && definition instanceof TransactionAttribute attribute
+                && attribute.getLabels().contains(ReplicaRead.LABEL));
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error e) {
+            ReadRouting.end();
+            throw e;
+        }
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        // The commit flushes pending entity changes, so the statements it runs are seen first.
+        super.doCommit(status);
+        if (ReadRouting.wrote()) {
+            readYourWrites.markWritten();
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            ReadRouting.end();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.todojustforfun.database;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Wraps primary connections so a statement that can change rows marks the current transaction in
+ * {@link ReadRouting}; {@link RoutingTransactionManager} then opens the read-your-writes window
+ * only for transactions that wrote. Queries are not marked; execute() is, since it may run DML.
+ */
+final class WriteTracking {
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+    private static final Set<String> WRITES = Set.of(
+            "execute", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch"
+    );
+
+    private WriteTracking() {
+    }
+
+    static Connection wrap(Connection target) {
+        return proxy(Connection.class, target, (method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Statement statement && STATEMENT_FACTORIES.contains(method.getName())
+                    ? wrap(statement)
+                    : result;
+        });
+    }
+
+    private static Statement wrap(Statement target) {
+        Class<? extends Statement> type = target instanceof CallableStatement ? CallableStatement.class
+                : target instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return proxy(type, target, (method, args) -> {
+            if (WRITES.contains(method.getName())) {
+                ReadRouting.markWrote();
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+        Object proxy = Proxy.newProxyInstance(
+                WriteTracking.class.getClassLoader(),
+                new Class<?>[]{type},
+                (self, method, args) -> switch (method.getName()) {
+                    case "equals" -> self == args[0];
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "toString" -> "WriteTracking[" + target + "]";
+                    default -> handler.handle(method, args);
+                }
+        );
+        return type.cast(proxy);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+}
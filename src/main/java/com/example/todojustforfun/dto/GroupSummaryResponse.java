@@ -0,0 +1,17 @@
+package com.example.todojustforfun.dto;
+
+import java.time.Instant;
+
+/**
+ * A group as listed for one member: counts of members and live shared todos, and the member's role.
+ */
+public record GroupSummaryResponse(
+        Long id,
+        String name,
+        Long ownerId,
+        Instant createdAt,
+        Long memberCount,
+        Long sharedTodoCount,
+        String role
+) {
+}
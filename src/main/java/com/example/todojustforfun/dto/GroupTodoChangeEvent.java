@@ -0,0 +1,23 @@
+package com.example.todojustforfun.dto;
+
+import java.time.Instant;
+
+/**
+ * Payload of one shared-todo change pushed to group subscribers.
+ * todo is null for UNSHARED and DELETED.
+ */
+public record GroupTodoChangeEvent(
+        Type type,
+        Long groupId,
+        Long todoId,
+        TodoResponse todo,
+        Instant occurredAt
+) {
+    public enum Type {
+        SHARED,
+        UNSHARED,
+        UPDATED,
+        COMPLETED,
+        DELETED
+    }
+}
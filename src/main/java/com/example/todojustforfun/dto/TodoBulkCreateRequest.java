@@ -0,0 +1,13 @@
+package com.example.todojustforfun.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record TodoBulkCreateRequest(
+        @NotEmpty
+        @Size(max = 500, message = "A bulk request cannot contain more than 500 items")
+        List<TodoRequest> items
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.todojustforfun.dto;
+
+public record TodoBulkItemResult(
+        int index,
+        Long id,
+        int status,
+        String message,
+        TodoResponse todo
+) {
+}
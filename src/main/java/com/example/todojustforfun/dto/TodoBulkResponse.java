@@ -0,0 +1,10 @@
+package com.example.todojustforfun.dto;
+
+import java.util.List;
+
+public record TodoBulkResponse(
+        int succeeded,
+        int failed,
+        List<TodoBulkItemResult> results
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.todojustforfun.dto;
+
+import java.time.OffsetDateTime;
+
+public record TodoBulkUpdateItem(
+        Long id,
+        String title,
+        String description,
+        OffsetDateTime dueDate
+) {
+}
@@ -0,0 +1,16 @@
+package com.example.todojustforfun.dto;
+
+import java.util.List;
+
+/**
+ * One page of a change feed. changed holds the current state of created or modified todos,
+ * removed the ids of todos that were deleted or left the list. Pass cursor back as since;
+ * hasMore means the next page can be fetched right away.
+ */
+public record TodoChangesResponse(
+        List<TodoResponse> changed,
+        List<Long> removed,
+        String cursor,
+        boolean hasMore
+) {
+}
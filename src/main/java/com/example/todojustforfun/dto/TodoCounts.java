@@ -0,0 +1,12 @@
+package com.example.todojustforfun.dto;
+
+/**
+ * Todo counts recomputed from the source tables for one user or group.
+ */
+public record TodoCounts(
+        Long id,
+        Long total,
+        Long completed,
+        Long shared
+) {
+}
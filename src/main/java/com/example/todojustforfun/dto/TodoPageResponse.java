@@ -0,0 +1,9 @@
+package com.example.todojustforfun.dto;
+
+import java.util.List;
+
+public record TodoPageResponse(
+        List<TodoResponse> items,
+        String nextCursor
+) {
+}
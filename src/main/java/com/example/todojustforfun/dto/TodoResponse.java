@@ -9,6 +9,7 @@ public record TodoResponse(
         String description,
         Boolean completed,
         Instant createdAt,
+        Instant updatedAt,
         OffsetDateTime dueDate
 ) {
 }
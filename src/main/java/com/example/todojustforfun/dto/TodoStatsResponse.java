@@ -0,0 +1,10 @@
+package com.example.todojustforfun.dto;
+
+public record TodoStatsResponse(
+        long total,
+        long completed,
+        long open,
+        long overdue,
+        long shared
+) {
+}
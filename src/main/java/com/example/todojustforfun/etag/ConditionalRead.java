@@ -0,0 +1,30 @@
+package com.example.todojustforfun.etag;
+
+import com.example.todojustforfun.database.ReplicaRead;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a conditional GET in one replica-read transaction. The version behind the ETag and the rows
+ * it describes are then read over the same connection, so a tag from the primary can never be
+ * attached to rows from a lagging replica, which would let clients revalidate stale content.
+ * Responses let the browser keep the content but revalidate it with If-None-Match on every poll.
+ */
+@Component
+public class ConditionalRead {
+
+    /**
+     * @return The response, or null when the client's copy is current and the request was answered with 304
+     */
+    @ReplicaRead
+    public <T> ResponseEntity<T> respond(WebRequest webRequest, Supplier<String> etag, Supplier<T> body) {
+        if (webRequest.checkNotModified(etag.get())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(body.get());
+    }
+}
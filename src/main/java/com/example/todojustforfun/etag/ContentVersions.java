@@ -0,0 +1,101 @@
+package com.example.todojustforfun.etag;
+
+import com.example.todojustforfun.cache.ExpiringCache;
+import com.example.todojustforfun.database.ReadRouting;
+import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.repositories.UserRepository;
+import com.example.todojustforfun.transaction.AfterCommit;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Version counters behind the ETags of todo and shared-todo reads: users.todos_version for a
+ * user's own lists and groups.shares_version for a group's shared list. Counters are bumped in
+ * the writing transaction and cached per node; local writes evict after commit, and the short
+ * cache TTL bounds how long another node's write can go unseen.
+ */
+@Component
+public class ContentVersions {
+    private final UserRepository userRepository;
+    private final GroupRepository groupRepository;
+    private final ExpiringCache<Long, Long> userVersions;
+    private final ExpiringCache<Long, Long> groupVersions;
+
+    public ContentVersions(
+            UserRepository userRepository,
+            GroupRepository groupRepository,
+            @Value("${app.etag.version-cache.ttl:PT5S}") Duration ttl,
+            @Value("${app.etag.version-cache.max-size:100000}") int maxSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.userRepository = userRepository;
+        this.groupRepository = groupRepository;
+        this.userVersions = new ExpiringCache<>("todo-versions", ttl, maxSize, meterRegistry);
+        this.groupVersions = new ExpiringCache<>("group-share-versions", ttl, maxSize, meterRegistry);
+    }
+
+    /**
+     * On a replica connection the version is read from the replica itself: a tag from the cache could
+     * be newer than the lagging rows it would be attached to.
+     */
+    public Optional<Long> userVersion(Long userId) {
+        return ReadRouting.onReplica()
+                ? userRepository.findTodosVersion(userId)
+                : userVersions.get(userId, userRepository::findTodosVersion);
+    }
+
+    public Optional<Long> groupVersion(Long groupId) {
+        return ReadRouting.onReplica()
+                ? groupRepository.findSharesVersion(groupId)
+                : groupVersions.get(groupId, groupRepository::findSharesVersion);
+    }
+
+    /**
+     * Records a change to the given user's todos and to the groups the changed todos are shared with.
+     * The increment row-locks the user until commit, so the returned version also orders the
+     * user's changes in commit order.
+     *
+     * @return The user's new todos_version
+     */
+    public long todosChanged(Long userId, Collection<Long> groupIds) {
+        userRepository.incrementTodosVersion(userId);
+        if (!groupIds.isEmpty()) {
+            groupRepository.incrementSharesVersion(groupIds);
+        }
+        List<Long> evictGroups = List.copyOf(groupIds);
+        AfterCommit.run(() -> {
+            userVersions.evict(userId);
+            evictGroups.forEach(groupVersions::evict);
+        });
+        return userRepository.findTodosVersion(userId).orElseThrow();
+    }
+
+    /**
+     * @return The group's new shares_version
+     */
+    public long groupSharesChanged(Long groupId) {
+        groupRepository.incrementSharesVersion(List.of(groupId));
+        AfterCommit.run(() -> groupVersions.evict(groupId));
+        return groupRepository.findSharesVersion(groupId).orElseThrow();
+    }
+
+    /**
+     * Strong ETag for one read of a versioned resource; the query parameters are folded in
+     * so different pages or filters of the same version never share a tag.
+     */
+    public static String etag(String scope, Long id, long version, Object... query) {
+        String parameters = Arrays.stream(query).map(String::valueOf).collect(Collectors.joining("\n"));
+        return scope + "-" + id + "-" + version + "-"
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(parameters.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.todojustforfun.export;
+
+import com.example.todojustforfun.services.TodoService;
+import com.example.todojustforfun.web.RetryLaterException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Writes a user's todos as one JSON array for GET /todos/export. The body runs on the MVC async
+ * executor, so it is given the request's attributes; without them replica routing could not see the
+ * client's read-your-writes window. The read transaction, and with it a pooled connection, stays
+ * open until the last byte reaches the client, so only maxConcurrent exports run at once and the
+ * rest are turned away with 503 and Retry-After instead of queueing for connections.
+ * spring.mvc.async.request-timeout bounds how long a single export may take.
+ */
+@Component
+public class TodoExporter {
+    private static final long RETRY_AFTER_SECONDS = 5;
+    private static final String RELEASE_INTERCEPTOR = TodoExporter.class.getName() + ".release";
+
+    private final TodoService todoService;
+    private final JsonMapper jsonMapper;
+    private final Semaphore permits;
+    private final Counter rejected;
+
+    public TodoExporter(
+            TodoService todoService,
+            JsonMapper jsonMapper,
+            @Value("${app.todos.export.max-concurrent:4}") int maxConcurrent,
+            MeterRegistry meterRegistry
+    ) {
+        this.todoService = todoService;
+        this.jsonMapper = jsonMapper;
+        this.permits = new Semaphore(maxConcurrent);
+        this.rejected = meterRegistry.counter("todos.export.rejected");
+        Gauge.builder("todos.export.active", permits, p -> maxConcurrent - p.availablePermits()).register(meterRegistry);
+    }
+
+    /**
+     * Takes an export slot on the request thread. The slot is given back once, by whichever comes
+     * first: the body finishing, or the async request completing without the body having run to
+     * the end, as when the executor rejects it or the request times out before it starts.
+     */
+    public StreamingResponseBody export(Long userId, WebRequest webRequest) {
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            throw new RetryLaterException("Too many exports in progress", RETRY_AFTER_SECONDS);
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor(RELEASE_INTERCEPTOR,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                        release.run();
+                    }
+                });
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return out -> {
+            RequestContextHolder.setRequestAttributes(attributes);
+            try (JsonGenerator generator = jsonMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                todoService.streamAllTodos(userId, generator::writePOJO);
+                generator.writeEndArray();
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+                release.run();
+            }
+        };
+    }
+}
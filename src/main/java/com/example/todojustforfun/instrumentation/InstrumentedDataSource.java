@@ -0,0 +1,157 @@
+package com.example.todojustforfun.instrumentation;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Wraps a DataSource so statement executions, JDBC time and fetched rows are
+ * recorded into the current {@link PersistenceStats}. A batch counts as one statement.
+ * Every execution, inside a request or not, is also reported to the {@link SlowQueryLog}
+ * with its SQL and the bind parameters of prepared statements.
+ * unwrap/isWrapperFor pass through, so pool metrics still see the underlying pool.
+ */
+final class InstrumentedDataSource {
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTIONS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch"
+    );
+
+    private InstrumentedDataSource() {
+    }
+
+    static DataSource wrap(DataSource target, Supplier<SlowQueryLog> slowQueryLog) {
+        return proxy(DataSource.class, target, (method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? wrapConnection(connection, slowQueryLog) : result;
+        });
+    }
+
+    private static Connection wrapConnection(Connection target, Supplier<SlowQueryLog> slowQueryLog) {
+        return proxy(Connection.class, target, (method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement && STATEMENT_FACTORIES.contains(method.getName())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return wrapStatement(statement, sql, slowQueryLog);
+            }
+            return result;
+        });
+    }
+
+    private static Statement wrapStatement(Statement target, String preparedSql, Supplier<SlowQueryLog> slowQueryLog) {
+        Class<? extends Statement> type = target instanceof CallableStatement ? CallableStatement.class
+                : target instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        List<Object> parameters = new ArrayList<>();
+        String[] batchSql = new String[1];
+        return proxy(type, target, (method, args) -> {
+            String name = method.getName();
+            if (preparedSql != null && isParameterSetter(name, args)) {
+                bind(parameters, (int) args[0], name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("addBatch") && args != null && batchSql[0] == null) {
+                batchSql[0] = (String) args[0];
+            } else if (name.equals("clearBatch")) {
+                batchSql[0] = null;
+            }
+
+            PersistenceStats stats = PersistenceStats.current();
+            Object result;
+            if (EXECUTIONS.contains(name)) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text
+                        : preparedSql != null ? preparedSql
+                        : batchSql[0];
+                long start = System.nanoTime();
+                try {
+                    result = invoke(target, method, args);
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    if (stats != null) {
+                        stats.statementExecuted(elapsed);
+                    }
+                    if (sql != null) {
+                        slowQueryLog.get().record(sql, elapsed, parameters);
+                    }
+                    if (name.endsWith("Batch")) {
+                        batchSql[0] = null;
+                    }
+                }
+            } else {
+                result = invoke(target, method, args);
+            }
+            return stats != null && result instanceof ResultSet resultSet ? wrapResultSet(resultSet) : result;
+        });
+    }
+
+    /**
+     * Positional setters on prepared statements: setString(int, String), setNull(int, int), setObject(int, Object, ...).
+     * Named CallableStatement setters and statement options such as setFetchSize(int) are not parameters.
+     */
+    private static boolean isParameterSetter(String name, Object[] args) {
+        return name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer;
+    }
+
+    private static void bind(List<Object> parameters, int index, Object value) {
+        while (parameters.size() < index) {
+            parameters.add(null);
+        }
+        parameters.set(index - 1, value);
+    }
+
+    private static ResultSet wrapResultSet(ResultSet target) {
+        return proxy(ResultSet.class, target, (method, args) -> {
+            PersistenceStats stats = PersistenceStats.current();
+            if (stats == null || !method.getName().equals("next")) {
+                return invoke(target, method, args);
+            }
+
+            long start = System.nanoTime();
+            boolean hasRow = (boolean) invoke(target, method, args);
+            long elapsed = System.nanoTime() - start;
+            if (hasRow) {
+                stats.rowFetched(elapsed);
+            } else {
+                stats.fetchTime(elapsed);
+            }
+            return hasRow;
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+        Object proxy = Proxy.newProxyInstance(
+                InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[]{type},
+                (self, method, args) -> switch (method.getName()) {
+                    case "equals" -> self == args[0];
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "toString" -> "Instrumented[" + target + "]";
+                    default -> handler.handle(method, args);
+                }
+        );
+        return type.cast(proxy);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+}
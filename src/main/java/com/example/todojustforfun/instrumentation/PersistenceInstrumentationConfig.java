@@ -0,0 +1,42 @@
+package com.example.todojustforfun.instrumentation;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.function.Supplier;
+
+@Configuration
+@ConditionalOnProperty(name = "app.persistence.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class PersistenceInstrumentationConfig implements WebMvcConfigurer {
+    private final PersistenceMetricsInterceptor persistenceMetricsInterceptor;
+
+    public PersistenceInstrumentationConfig(PersistenceMetricsInterceptor persistenceMetricsInterceptor) {
+        this.persistenceMetricsInterceptor = persistenceMetricsInterceptor;
+    }
+
+    @Bean
+    static BeanPostProcessor instrumentedDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        // Resolved on first execution: the log needs the MeterRegistry, which may not exist yet here.
+        Supplier<SlowQueryLog> lazySlowQueryLog = SingletonSupplier.of(slowQueryLog::getObject);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource
+                        ? InstrumentedDataSource.wrap(dataSource, lazySlowQueryLog)
+                        : bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(persistenceMetricsInterceptor);
+    }
+}
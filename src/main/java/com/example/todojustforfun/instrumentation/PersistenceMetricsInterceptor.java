@@ -0,0 +1,116 @@
+package com.example.todojustforfun.instrumentation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes per-request JDBC statement count, JDBC time and fetched rows tagged by
+ * controller method, and warns when a request exceeds the statement budget
+ * (usually an N+1 pattern). Meters are registered once per handler.
+ * <p>
+ * Only the handler's own thread is measured, from preHandle until the handler returns:
+ * statements run by servlet filters (such as the session lookup) and by async bodies
+ * (streamed exports, SSE sends) are not attributed to any handler, and the dispatch that
+ * completes an async request is not recorded again.
+ */
+@Component
+public class PersistenceMetricsInterceptor implements AsyncHandlerInterceptor {
+    private static final Logger log = LoggerFactory.getLogger(PersistenceMetricsInterceptor.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+    private final Map<String, HandlerMeters> meters = new ConcurrentHashMap<>();
+
+    public PersistenceMetricsInterceptor(
+            MeterRegistry meterRegistry,
+            @Value("${app.persistence.instrumentation.statement-budget:20}") int statementBudget
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+            PersistenceStats.begin(handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        PersistenceStats stats = PersistenceStats.end();
+        if (stats != null) {
+            record(stats);
+        }
+    }
+
+    /**
+     * Async handlers (SSE) release the request thread here instead of in afterCompletion.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        afterCompletion(request, response, handler, null);
+    }
+
+    void record(PersistenceStats stats) {
+        String handler = stats.handler();
+        HandlerMeters handlerMeters = meters.get(handler);
+        if (handlerMeters == null) {
+            handlerMeters = meters.computeIfAbsent(handler, this::register);
+        }
+        handlerMeters.statements().record(stats.statements());
+        handlerMeters.rows().record(stats.rows());
+        handlerMeters.jdbcTime().record(stats.jdbcNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.statements() > statementBudget) {
+            handlerMeters.budgetExceeded().increment();
+            log.warn("{} ran {} SQL statements (budget {}), fetched {} rows in {} ms of JDBC time; possible N+1",
+                    handler, stats.statements(), statementBudget, stats.rows(),
+                    TimeUnit.NANOSECONDS.toMillis(stats.jdbcNanos()));
+        }
+    }
+
+    private HandlerMeters register(String handler) {
+        return new HandlerMeters(
+                DistributionSummary.builder("persistence.request.statements")
+                        .tag("handler", handler)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry),
+                DistributionSummary.builder("persistence.request.rows")
+                        .tag("handler", handler)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry),
+                Timer.builder("persistence.request.jdbc.time")
+                        .tag("handler", handler)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry),
+                Counter.builder("persistence.request.budget.exceeded")
+                        .tag("handler", handler)
+                        .register(meterRegistry)
+        );
+    }
+
+    private record HandlerMeters(
+            DistributionSummary statements,
+            DistributionSummary rows,
+            Timer jdbcTime,
+            Counter budgetExceeded
+    ) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.todojustforfun.instrumentation;
+
+/**
+ * JDBC activity of the request bound to the current thread.
+ * Only handler threads are tracked; statements run outside a request are not counted.
+ */
+public final class PersistenceStats {
+    private static final ThreadLocal<PersistenceStats> CURRENT = new ThreadLocal<>();
+
+    private final String handler;
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+
+    private PersistenceStats(String handler) {
+        this.handler = handler;
+    }
+
+    static void begin(String handler) {
+        CURRENT.set(new PersistenceStats(handler));
+    }
+
+    static PersistenceStats end() {
+        PersistenceStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    static PersistenceStats current() {
+        return CURRENT.get();
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+    }
+
+    void rowFetched(long nanos) {
+        rows++;
+        jdbcNanos += nanos;
+    }
+
+    void fetchTime(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    public String handler() {
+        return handler;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public long jdbcNanos() {
+        return jdbcNanos;
+    }
+}
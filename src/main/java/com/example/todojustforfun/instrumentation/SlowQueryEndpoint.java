@@ -0,0 +1,33 @@
+package com.example.todojustforfun.instrumentation;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint listing the statement fingerprints with the most total execution time:
+ * GET /actuator/slowqueries?limit=N.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+    private final SlowQueryLog slowQueryLog;
+    private final int defaultLimit;
+
+    public SlowQueryEndpoint(
+            SlowQueryLog slowQueryLog,
+            @Value("${app.persistence.slow-query.top:20}") int defaultLimit
+    ) {
+        this.slowQueryLog = slowQueryLog;
+        this.defaultLimit = defaultLimit;
+    }
+
+    @ReadOperation
+    public List<SlowQueryLog.Summary> top(@Nullable Integer limit) {
+        return slowQueryLog.top(limit == null ? defaultLimit : Math.max(1, limit));
+    }
+}
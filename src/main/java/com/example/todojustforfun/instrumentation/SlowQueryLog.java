@@ -0,0 +1,212 @@
+package com.example.todojustforfun.instrumentation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates JDBC execution time per statement fingerprint and logs a sample, with the types
+ * and lengths of its bind parameters but never their values, when an execution exceeds the threshold. Samples are rate limited per
+ * fingerprint; the executions skipped in between are counted into the next one.
+ * Each fingerprint gets a db.query.time timer with a rolling percentile window, tagged by
+ * a short fingerprint id; fingerprints past the configured maximum share the "other" entry.
+ */
+@Component
+public class SlowQueryLog {
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+    private static final String OTHER = "other";
+
+    private final Map<String, QueryStats> bySql = new ConcurrentHashMap<>();
+    private final Map<String, QueryStats> byFingerprint = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final long thresholdNanos;
+    private final long sampleIntervalNanos;
+    private final int maxFingerprints;
+    private final Duration percentileWindow;
+
+    public SlowQueryLog(
+            MeterRegistry meterRegistry,
+            @Value("${app.persistence.slow-query.threshold:PT0.2S}") Duration threshold,
+            @Value("${app.persistence.slow-query.sample-interval:PT10S}") Duration sampleInterval,
+            @Value("${app.persistence.slow-query.max-fingerprints:500}") int maxFingerprints,
+            @Value("${app.persistence.slow-query.percentile-window:PT5M}") Duration percentileWindow
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleIntervalNanos = sampleInterval.toNanos();
+        this.maxFingerprints = maxFingerprints;
+        this.percentileWindow = percentileWindow;
+    }
+
+    void record(String sql, long nanos, List<Object> parameters) {
+        QueryStats stats = statsFor(sql);
+        stats.record(nanos);
+        if (nanos >= thresholdNanos) {
+            stats.slow.increment();
+            sample(stats, sql, nanos, parameters);
+        }
+    }
+
+    /**
+     * Fingerprints ordered by total execution time, highest first.
+     */
+    public List<Summary> top(int limit) {
+        return byFingerprint.values().stream()
+                .sorted(Comparator.comparingLong(QueryStats::totalNanos).reversed())
+                .limit(limit)
+                .map(QueryStats::summary)
+                .toList();
+    }
+
+    private QueryStats statsFor(String sql) {
+        QueryStats stats = bySql.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+
+        String fingerprint = SqlFingerprint.of(sql);
+        stats = byFingerprint.get(fingerprint);
+        if (stats == null) {
+            stats = byFingerprint.size() < maxFingerprints
+                    ? byFingerprint.computeIfAbsent(fingerprint, this::newStats)
+                    : byFingerprint.computeIfAbsent(OTHER, this::newStats);
+        }
+        // Statements with inlined literals would grow this map without bound; those are
+        // re-fingerprinted on every execution instead.
+        if (bySql.size() < maxFingerprints * 4) {
+            bySql.put(sql, stats);
+        }
+        return stats;
+    }
+
+    private QueryStats newStats(String fingerprint) {
+        String id = fingerprint.equals(OTHER) ? OTHER : "%08x".formatted(fingerprint.hashCode());
+        Timer timer = Timer.builder("db.query.time")
+                .tag("fingerprint", id)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .distributionStatisticExpiry(percentileWindow)
+                .register(meterRegistry);
+        Counter slow = Counter.builder("db.query.slow")
+                .tag("fingerprint", id)
+                .register(meterRegistry);
+        return new QueryStats(id, fingerprint, timer, slow);
+    }
+
+    private void sample(QueryStats stats, String sql, long nanos, List<Object> parameters) {
+        long now = System.nanoTime();
+        long last = stats.lastSampledAt.get();
+        if (last != 0 && now - last < sampleIntervalNanos) {
+            stats.suppressed.incrementAndGet();
+            return;
+        }
+        if (!stats.lastSampledAt.compareAndSet(last, now)) {
+            stats.suppressed.incrementAndGet();
+            return;
+        }
+        log.warn("Slow query [{}] took {} ms ({} similar suppressed): {} parameters {}",
+                stats.id, TimeUnit.NANOSECONDS.toMillis(nanos), stats.suppressed.getAndSet(0),
+                sql, describe(parameters));
+    }
+
+    /**
+     * Parameter types, with lengths for text and binary values. Values can be passwords, session
+     * token hashes or todo contents, so they are never logged.
+     */
+    static String describe(List<Object> parameters) {
+        return parameters.stream().map(SlowQueryLog::describe).toList().toString();
+    }
+
+    private static String describe(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof byte[] bytes) {
+            return "byte[" + bytes.length + "]";
+        }
+        if (value instanceof CharSequence text) {
+            return value.getClass().getSimpleName() + "(" + text.length() + ")";
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    public record Summary(
+            String id,
+            String fingerprint,
+            long count,
+            long slowCount,
+            double totalMs,
+            double meanMs,
+            double maxMs,
+            Map<String, Double> percentilesMs
+    ) {
+    }
+
+    private static final class QueryStats {
+        private final String id;
+        private final String fingerprint;
+        private final Timer timer;
+        private final Counter slow;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLong lastSampledAt = new AtomicLong();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        private QueryStats(String id, String fingerprint, Timer timer, Counter slow) {
+            this.id = id;
+            this.fingerprint = fingerprint;
+            this.timer = timer;
+            this.slow = slow;
+        }
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        long totalNanos() {
+            return totalNanos.sum();
+        }
+
+        Summary summary() {
+            long executions = count.sum();
+            long total = totalNanos.sum();
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+                percentiles.put("p" + Math.round(percentile.percentile() * 100),
+                        percentile.value(TimeUnit.MILLISECONDS));
+            }
+            return new Summary(
+                    id,
+                    fingerprint,
+                    executions,
+                    (long) slow.count(),
+                    toMillis(total),
+                    executions == 0 ? 0 : toMillis(total / executions),
+                    toMillis(maxNanos.get()),
+                    percentiles
+            );
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.todojustforfun.instrumentation;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes SQL into a fingerprint: comments and literals are dropped, placeholder lists
+ * and multi-row VALUES collapse to one entry, whitespace and case are folded. Statements that
+ * differ only in their arguments share a fingerprint.
+ */
+final class SqlFingerprint {
+    private static final Pattern COMMENTS = Pattern.compile("/\\*.*?\\*/|--[^\\n]*", Pattern.DOTALL);
+    private static final Pattern STRINGS = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBERS = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?(?:e[-+]?\\d+)?\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern PLACEHOLDER_LISTS = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern VALUE_ROWS = Pattern.compile("\\(\\?\\)(?:\\s*,\\s*\\(\\?\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlFingerprint() {
+    }
+
+    static String of(String sql) {
+        String normalized = COMMENTS.matcher(sql).replaceAll(" ");
+        normalized = STRINGS.matcher(normalized).replaceAll("?");
+        normalized = NUMBERS.matcher(normalized).replaceAll("?");
+        normalized = PLACEHOLDER_LISTS.matcher(normalized).replaceAll("(?)");
+        normalized = VALUE_ROWS.matcher(normalized).replaceAll("(?)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.todojustforfun.joincode;
+
+import com.example.todojustforfun.repositories.GroupRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hands out group join codes that are unique without a lookup. Each code is a sequence number,
+ * scrambled and base32-encoded into 8 characters, followed by 8 random characters that keep codes
+ * unguessable. Sequence numbers are reserved a block at a time from group_join_code_seq, and a
+ * background thread refills the pool once it drops below half its size, so taking a code normally
+ * costs no query. Codes left in the pool at shutdown are simply never used.
+ */
+@Component
+public class JoinCodePool {
+    /**
+     * Must match the INCREMENT BY of group_join_code_seq.
+     */
+    static final int BLOCK_SIZE = 100;
+    private static final Logger log = LoggerFactory.getLogger(JoinCodePool.class);
+    private static final char[] ALPHABET = "0123456789abcdefghjkmnpqrstvwxyz".toCharArray();
+    private static final int BITS_PER_CHAR = 5;
+    private static final int SEQUENCE_CHARS = 8;
+    private static final int RANDOM_CHARS = 8;
+    private static final long SEQUENCE_MASK = (1L << (SEQUENCE_CHARS * BITS_PER_CHAR)) - 1;
+    // Odd, so multiplying by it permutes the 40-bit sequence space.
+    private static final long SCRAMBLE = 0x5DEECE66DL;
+
+    private final GroupRepository groupRepository;
+    private final int poolSize;
+    private final BlockingQueue<String> codes = new LinkedBlockingQueue<>();
+    private final SecureRandom random = new SecureRandom();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final ExecutorService refiller = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("join-code-refill").factory());
+    private final Counter reserved;
+    private final Counter exhausted;
+
+    public JoinCodePool(
+            GroupRepository groupRepository,
+            @Value("${app.groups.join-codes.pool-size:200}") int poolSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.groupRepository = groupRepository;
+        this.poolSize = poolSize;
+        this.reserved = meterRegistry.counter("groups.join_codes.reserved");
+        this.exhausted = meterRegistry.counter("groups.join_codes.exhausted");
+        Gauge.builder("groups.join_codes.pool", codes, BlockingQueue::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refillInBackground();
+    }
+
+    /**
+     * Takes a code from the pool. Only when the pool has run dry does the caller reserve a block itself.
+     */
+    public String next() {
+        String code = codes.poll();
+        while (code == null) {
+            exhausted.increment();
+            reserveBlock();
+            code = codes.poll();
+        }
+        if (codes.size() < poolSize / 2) {
+            refillInBackground();
+        }
+        return code;
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void close() {
+        refiller.shutdownNow();
+    }
+
+    private void refillInBackground() {
+        if (!refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refiller.execute(() -> {
+                try {
+                    while (codes.size() < poolSize) {
+                        reserveBlock();
+                    }
+                } catch (RuntimeException e) {
+                    // The next call to next() retries, synchronously if the pool is empty by then.
+                    log.warn("Join code pool refill failed", e);
+                } finally {
+                    refilling.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            refilling.set(false);
+        }
+    }
+
+    private void reserveBlock() {
+        long first = groupRepository.reserveJoinCodeBlock();
+        if (first + BLOCK_SIZE - 1 > SEQUENCE_MASK) {
+            throw new IllegalStateException("group_join_code_seq exceeds the join code space");
+        }
+        reserved.increment(BLOCK_SIZE);
+        for (long sequence = first; sequence < first + BLOCK_SIZE; sequence++) {
+            codes.add(encode(sequence));
+        }
+    }
+
+    String encode(long sequence) {
+        char[] code = new char[SEQUENCE_CHARS + RANDOM_CHARS];
+        long scrambled = (sequence * SCRAMBLE) & SEQUENCE_MASK;
+        for (int i = 0; i < SEQUENCE_CHARS; i++) {
+            code[i] = ALPHABET[(int) (scrambled >>> (i * BITS_PER_CHAR)) & (ALPHABET.length - 1)];
+        }
+        long suffix = random.nextLong();
+        for (int i = 0; i < RANDOM_CHARS; i++) {
+            code[SEQUENCE_CHARS + i] = ALPHABET[(int) (suffix >>> (i * BITS_PER_CHAR)) & (ALPHABET.length - 1)];
+        }
+        return new String(code);
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.todojustforfun.mapper;
 
+import com.example.todojustforfun.dto.TodoPageResponse;
 import com.example.todojustforfun.dto.TodoRequest;
 import com.example.todojustforfun.dto.TodoResponse;
+import com.example.todojustforfun.models.StoredTodo;
 import com.example.todojustforfun.models.Todo;
+import com.example.todojustforfun.pagination.ScrollCursor;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -44,6 +48,7 @@ public class TodoMapper {
                 todo.getDescription(),
                 todo.getCompleted(),
                 todo.getCreatedAt(),
+                todo.getUpdatedAt(),
                 todo.getDueDate()
         );
     }
@@ -59,4 +64,45 @@ public class TodoMapper {
                 .map(this::toResponse)
                 .toList();
     }
+
+    /**
+     * Converts a scroll window of Todo entities to a page DTO
+     * The next cursor points after the last element and is null on the last page
+     *
+     * @param window Window of Todo entities returned by a scroll query
+     * @return TodoPageResponse with the mapped items and continuation token
+     */
+    public TodoPageResponse toPageResponse(Window<Todo> window) {
+        return new TodoPageResponse(toResponseList(window.getContent()), ScrollCursor.next(window));
+    }
+
+    /**
+     * Converts a live or archived todo to a TodoResponse DTO
+     *
+     * @param todo The StoredTodo read through the archive-inclusive view
+     * @return A TodoResponse DTO with all fields populated
+     */
+    public TodoResponse toResponse(StoredTodo todo) {
+        return new TodoResponse(
+                todo.getId(),
+                todo.getTitle(),
+                todo.getDescription(),
+                todo.getCompleted(),
+                todo.getCreatedAt(),
+                todo.getUpdatedAt(),
+                todo.getDueDate()
+        );
+    }
+
+    /**
+     * Converts a scroll window of live and archived todos to a page DTO
+     *
+     * @param window Window of StoredTodo entities returned by a scroll query
+     * @return TodoPageResponse with the mapped items and continuation token
+     */
+    public TodoPageResponse toStoredPageResponse(Window<StoredTodo> window) {
+        return new TodoPageResponse(
+                window.getContent().stream().map(this::toResponse).toList(),
+                ScrollCursor.next(window));
+    }
 }
@@ -34,4 +34,10 @@ public class GroupTodoShare {
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
+
+    /**
+     * The group's shares_version when the share or its todo last changed; orders the group's change feed.
+     */
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq = 0L;
 }
@@ -0,0 +1,31 @@
+package com.example.todojustforfun.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Counters over the live todos shared with a group, kept up to date by the writing transactions.
+ */
+@Entity
+@Table(name = "group_todo_stats")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class GroupTodoStats {
+    @Id
+    @Column(name = "group_id")
+    private Long groupId;
+
+    @Column(name = "total", nullable = false)
+    private long total;
+
+    @Column(name = "completed", nullable = false)
+    private long completed;
+}
@@ -0,0 +1,43 @@
+package com.example.todojustforfun.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * Marker left behind when a todo leaves a group's shared list, by unsharing or deletion.
+ */
+@Entity
+@Table(name = "group_todo_tombstones")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class GroupTodoTombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    @Column(name = "todo_id", nullable = false)
+    private Long todoId;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @CreationTimestamp
+    @Column(name = "removed_at", nullable = false, updatable = false)
+    private Instant removedAt;
+}
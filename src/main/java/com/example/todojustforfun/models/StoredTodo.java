@@ -0,0 +1,58 @@
+package com.example.todojustforfun.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+/**
+ * Read-only view over both the live todos table and todos_archive, for the reads that
+ * explicitly ask to include archived todos. A todo is in exactly one of the two tables.
+ */
+@Entity
+@Immutable
+@Subselect("""
+        select id, title, description, completed, created_at, updated_at, due_date, user_id, false as archived
+        from todos
+        union all
+        select id, title, description, completed, created_at, updated_at, due_date, user_id, true as archived
+        from todos_archive
+        """)
+@Synchronize({"todos", "todos_archive"})
+@Getter
+@NoArgsConstructor
+public class StoredTodo {
+    @Id
+    private Long id;
+
+    @Column(name = "title")
+    private String title;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "completed")
+    private Boolean completed;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @Column(name = "due_date")
+    private OffsetDateTime dueDate;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "archived")
+    private boolean archived;
+}
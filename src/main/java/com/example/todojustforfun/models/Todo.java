@@ -1,27 +1,33 @@
 package com.example.todojustforfun.models;
 
+import com.example.todojustforfun.reminder.DueDateReminderListener;
+import com.example.todojustforfun.search.TodoSearchIndexListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.Objects;
 
 @Entity
 @Table(name = "todos")
+@EntityListeners({TodoSearchIndexListener.class, DueDateReminderListener.class})
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Todo {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todos_id_seq")
+    @SequenceGenerator(name = "todos_id_seq", sequenceName = "todos_id_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 120)
+    @Column(nullable = false, length = 120)
     private String title;
 
     @Column(nullable = true, length = 255)
@@ -34,9 +40,51 @@ public class Todo {
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * The owner's todos_version at the last change; orders the owner's change feed.
+     */
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq = 0L;
+
     @Column(name = "due_date", nullable = true)
     private OffsetDateTime dueDate;
 
     @Column(name = "user_id", nullable = false)
     private Long userId;
+
+    /**
+     * When the todo was last marked completed, null while open; drives archival.
+     */
+    @Column(name = "completed_at", nullable = true)
+    private Instant completedAt;
+
+    /**
+     * When the due-date reminder fired; cleared whenever the due date changes. Never written by
+     * an entity update, only by TodoRepository's claimReminder and clearReminder, so saving a copy
+     * loaded before the reminder fired cannot set it back to null.
+     */
+    @Column(name = "reminded_at", nullable = true, updatable = false)
+    private Instant remindedAt;
+
+    public void setDueDate(OffsetDateTime dueDate) {
+        if (!Objects.equals(
+                dueDate == null ? null : dueDate.toInstant(),
+                this.dueDate == null ? null : this.dueDate.toInstant())) {
+            remindedAt = null;
+        }
+        this.dueDate = dueDate;
+    }
+
+    public void setCompleted(Boolean completed) {
+        if (!Boolean.TRUE.equals(completed)) {
+            completedAt = null;
+        } else if (!Boolean.TRUE.equals(this.completed)) {
+            completedAt = Instant.now();
+        }
+        this.completed = completed;
+    }
 }
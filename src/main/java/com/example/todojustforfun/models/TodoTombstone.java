@@ -0,0 +1,38 @@
+package com.example.todojustforfun.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * Marker left behind by a deleted todo so the owner's change feed can report the deletion.
+ */
+@Entity
+@Table(name = "todo_tombstones")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TodoTombstone {
+    @Id
+    @Column(name = "todo_id")
+    private Long todoId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @CreationTimestamp
+    @Column(name = "removed_at", nullable = false, updatable = false)
+    private Instant removedAt;
+}
@@ -1,5 +1,6 @@
 package com.example.todojustforfun.models;
 
+import com.example.todojustforfun.security.UserCacheInvalidationListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -11,6 +12,7 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheInvalidationListener.class)
 @Getter
 @Setter
 @AllArgsConstructor
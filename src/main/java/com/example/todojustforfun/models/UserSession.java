@@ -0,0 +1,35 @@
+package com.example.todojustforfun.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "user_sessions")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSession {
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @Column(nullable = false)
+    private byte[] context;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,37 @@
+package com.example.todojustforfun.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Counters over a user's live todos, kept up to date by the writing transactions.
+ */
+@Entity
+@Table(name = "user_todo_stats")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserTodoStats {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "total", nullable = false)
+    private long total;
+
+    @Column(name = "completed", nullable = false)
+    private long completed;
+
+    /**
+     * Todos shared with at least one group.
+     */
+    @Column(name = "shared", nullable = false)
+    private long shared;
+}
@@ -0,0 +1,104 @@
+package com.example.todojustforfun.pagination;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Encodes keyset scroll positions as opaque continuation tokens
+ * so clients never see (or depend on) the underlying sort keys.
+ */
+public final class ScrollCursor {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private ScrollCursor() {
+    }
+
+    /**
+     * @param position The position of the last element of the current page
+     * @return An opaque token, or null when the position is an initial one
+     */
+    public static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+            return null;
+        }
+
+        StringJoiner joiner = new StringJoiner("&");
+        keyset.getKeys().forEach((key, value) -> joiner.add(key + "=" + encodeValue(value)));
+        return encodeRaw(joiner.toString());
+    }
+
+    /**
+     * @param window The page that was just read
+     * @return A token pointing after the window's last element, or null on the last page
+     */
+    public static String next(Window<?> window) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+        return encode(window.positionAt(window.size() - 1));
+    }
+
+    /**
+     * @param cursor A token produced by {@link #encode(ScrollPosition)}, or null for the first page
+     * @return The keyset position to continue scrolling from
+     */
+    public static KeysetScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            String raw = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (String pair : raw.split("&")) {
+                int separator = pair.indexOf('=');
+                if (separator < 1) {
+                    throw invalidCursor();
+                }
+                keys.put(pair.substring(0, separator), decodeValue(pair.substring(separator + 1)));
+            }
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw invalidCursor();
+        }
+    }
+
+    private static String encodeRaw(String raw) {
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ResponseStatusException invalidCursor() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+
+    private static String encodeValue(Object value) {
+        return switch (value) {
+            case Long l -> "L" + l;
+            case Instant i -> "I" + i;
+            case OffsetDateTime o -> "O" + o;
+            default -> throw new IllegalStateException("Unsupported keyset value: " + value.getClass());
+        };
+    }
+
+    private static Object decodeValue(String value) {
+        String payload = value.substring(1);
+        return switch (value.charAt(0)) {
+            case 'L' -> Long.parseLong(payload);
+            case 'I' -> Instant.parse(payload);
+            case 'O' -> OffsetDateTime.parse(payload);
+            default -> throw new IllegalArgumentException("Unknown keyset value type");
+        };
+    }
+}
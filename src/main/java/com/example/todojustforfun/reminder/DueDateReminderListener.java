@@ -0,0 +1,34 @@
+package com.example.todojustforfun.reminder;
+
+import com.example.todojustforfun.models.Todo;
+import com.example.todojustforfun.transaction.AfterCommit;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the reminder wheel in step with todo writes once they commit: creating, rescheduling,
+ * completing and deleting a todo all pass through here. Resolved lazily for the same reason as
+ * the search index listener, and a no-op when reminders are disabled.
+ */
+@Component
+public class DueDateReminderListener {
+    private final ObjectProvider<DueDateReminders> dueDateReminders;
+
+    public DueDateReminderListener(ObjectProvider<DueDateReminders> dueDateReminders) {
+        this.dueDateReminders = dueDateReminders;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Todo todo) {
+        AfterCommit.run(() -> dueDateReminders.ifAvailable(reminders -> reminders.onSaved(todo)));
+    }
+
+    @PostRemove
+    public void onDeleted(Todo todo) {
+        AfterCommit.run(() -> dueDateReminders.ifAvailable(reminders -> reminders.onDeleted(todo.getId())));
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.todojustforfun.reminder;
+
+import com.example.todojustforfun.models.Todo;
+import com.example.todojustforfun.repositories.TodoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires a {@link TodoDueEvent} when an open todo reaches its due date.
+ * Reminders due within the horizon are loaded from the partial due-date index into an in-memory
+ * {@link TimingWheel} that a single thread advances every tick, so firing costs nothing per
+ * pending reminder and happens within a tick of the due time. Local writes update the wheel after
+ * commit; the periodic reload picks up writes made on other nodes and reminders entering the horizon.
+ * Fired reminders are recorded in todos.reminded_at by a conditional update that only one node
+ * wins, which also makes a restart fire exactly the reminders that came due while it was down.
+ */
+@Component
+@ConditionalOnProperty(name = "app.reminders.enabled", havingValue = "true", matchIfMissing = true)
+public class DueDateReminders {
+    private static final Logger log = LoggerFactory.getLogger(DueDateReminders.class);
+    private static final int WHEEL_LEVELS = 4;
+    private static final OffsetDateTime LOAD_START = Instant.EPOCH.atOffset(ZoneOffset.UTC);
+
+    private final TodoRepository todoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long tickMillis;
+    private final Duration horizon;
+    private final int maxScheduled;
+    private final int loadBatchSize;
+    private final TimingWheel<Long> wheel;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("reminder-wheel").daemon().factory());
+    private final ExecutorService dispatchers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("reminder-", 0).factory());
+    private final Counter fired;
+    private final Timer delay;
+    private volatile Instant loadedUntil = Instant.EPOCH;
+
+    public DueDateReminders(
+            TodoRepository todoRepository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.reminders.tick:PT0.1S}") Duration tick,
+            @Value("${app.reminders.horizon:PT24H}") Duration horizon,
+            @Value("${app.reminders.max-scheduled:100000}") int maxScheduled,
+            @Value("${app.reminders.load-batch-size:1000}") int loadBatchSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.todoRepository = todoRepository;
+        this.eventPublisher = eventPublisher;
+        this.tickMillis = tick.toMillis();
+        this.horizon = horizon;
+        this.maxScheduled = maxScheduled;
+        this.loadBatchSize = loadBatchSize;
+        this.wheel = new TimingWheel<>(WHEEL_LEVELS, currentTick());
+        if (Duration.ofMillis(tickMillis * (wheel.horizon() - wheel.currentTick())).compareTo(horizon) < 0) {
+            throw new IllegalStateException("app.reminders.horizon " + horizon + " exceeds the wheel span for tick " + tick);
+        }
+        this.fired = meterRegistry.counter("reminders.fired");
+        this.delay = Timer.builder("reminders.delay")
+                .description("Time from due date to firing")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("reminders.scheduled", this, DueDateReminders::scheduled).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reload();
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedules every unfired reminder due before now + horizon, overdue ones included, walking the
+     * index in keyset order. Entries already in the wheel are rescheduled in place; ones that no
+     * longer apply are dropped when their claim fails.
+     */
+    @Scheduled(fixedDelayString = "${app.reminders.refresh-interval:PT10M}",
+            initialDelayString = "${app.reminders.refresh-interval:PT10M}")
+    public void reload() {
+        Instant until = Instant.now().plus(horizon);
+        OffsetDateTime afterDueDate = LOAD_START;
+        long afterId = 0;
+        int loaded = 0;
+        List<Todo> page;
+        do {
+            page = todoRepository.findPendingReminders(
+                    until.atOffset(ZoneOffset.UTC), afterDueDate, afterId, Limit.of(loadBatchSize));
+            synchronized (wheel) {
+                page.forEach(todo -> wheel.schedule(todo.getId(), dueTick(todo.getDueDate())));
+            }
+            loaded += page.size();
+            if (!page.isEmpty()) {
+                afterDueDate = page.getLast().getDueDate();
+                afterId = page.getLast().getId();
+            }
+        } while (page.size() == loadBatchSize && loaded < maxScheduled);
+
+        // When capped, later reminders wait for a reload once the earlier ones have fired.
+        loadedUntil = page.size() == loadBatchSize ? afterDueDate.toInstant() : until;
+    }
+
+    void onSaved(Todo todo) {
+        boolean pending = !Boolean.TRUE.equals(todo.getCompleted())
+                && todo.getRemindedAt() == null
+                && todo.getDueDate() != null
+                && !todo.getDueDate().toInstant().isAfter(loadedUntil);
+        synchronized (wheel) {
+            if (pending) {
+                wheel.schedule(todo.getId(), dueTick(todo.getDueDate()));
+            } else {
+                wheel.cancel(todo.getId());
+            }
+        }
+    }
+
+    void onDeleted(Long todoId) {
+        synchronized (wheel) {
+            wheel.cancel(todoId);
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void close() {
+        ticker.shutdownNow();
+        dispatchers.shutdownNow();
+    }
+
+    private void tick() {
+        try {
+            List<Long> due;
+            synchronized (wheel) {
+                due = wheel.advance(currentTick());
+            }
+            due.forEach(todoId -> dispatchers.execute(() -> fire(todoId)));
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic task and stop every future reminder.
+            log.error("Reminder wheel tick failed", e);
+        }
+    }
+
+    /**
+     * At most once: a claimed reminder whose listeners fail is not retried.
+     */
+    private void fire(Long todoId) {
+        Instant now = Instant.now();
+        try {
+            // Zero rows: completed, rescheduled, deleted, archived or already fired by another node.
+            if (todoRepository.claimReminder(todoId, now.atOffset(ZoneOffset.UTC), now) == 0) {
+                return;
+            }
+            todoRepository.findById(todoId).ifPresent(todo -> {
+                fired.increment();
+                delay.record(Duration.between(todo.getDueDate().toInstant(), now));
+                eventPublisher.publishEvent(new TodoDueEvent(
+                        todo.getId(), todo.getUserId(), todo.getTitle(), todo.getDueDate(), now));
+            });
+        } catch (RuntimeException e) {
+            log.warn("Reminder for todo {} failed", todoId, e);
+        }
+    }
+
+    private int scheduled() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    private long currentTick() {
+        return System.currentTimeMillis() / tickMillis;
+    }
+
+    /**
+     * Rounded up, so a reminder never fires before its due time.
+     */
+    private long dueTick(OffsetDateTime dueDate) {
+        return Math.ceilDiv(dueDate.toInstant().toEpochMilli(), tickMillis);
+    }
+}
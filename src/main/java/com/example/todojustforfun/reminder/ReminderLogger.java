@@ -0,0 +1,20 @@
+package com.example.todojustforfun.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default reminder delivery: a log line. Stands in for a webhook or push channel, which would
+ * subscribe to {@link TodoDueEvent} the same way.
+ */
+@Component
+public class ReminderLogger {
+    private static final Logger log = LoggerFactory.getLogger(ReminderLogger.class);
+
+    @EventListener
+    public void onDue(TodoDueEvent event) {
+        log.info("Todo {} of user {} is due at {}: {}", event.todoId(), event.userId(), event.dueDate(), event.title());
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.todojustforfun.reminder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel over abstract ticks. Level n has 64 slots of 64^n ticks each; a key
+ * is placed on the lowest level whose span covers its deadline and moves down a level each time
+ * the level below wraps, so scheduling, cancelling and advancing one tick are O(1) amortized
+ * however many keys are pending. Not thread-safe; callers synchronize.
+ */
+final class TimingWheel<K> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final int levels;
+    private final Set<K>[][] buckets;
+    private final Map<K, Placement> placements = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(int levels, long startTick) {
+        this.levels = levels;
+        this.buckets = new Set[levels][SLOTS];
+        for (Set<K>[] level : buckets) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                level[slot] = new HashSet<>();
+            }
+        }
+        this.currentTick = startTick;
+    }
+
+    /**
+     * @return The furthest tick a key can be scheduled for right now
+     */
+    long horizon() {
+        return currentTick + (1L << (SLOT_BITS * levels)) - 1;
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    int size() {
+        return placements.size();
+    }
+
+    /**
+     * Schedules or reschedules the key. A deadline that has already passed fires on the next tick.
+     *
+     * @return false, with the key left unscheduled, when the deadline is past {@link #horizon()}
+     */
+    boolean schedule(K key, long deadlineTick) {
+        cancel(key);
+        long deadline = Math.max(deadlineTick, currentTick + 1);
+        if (deadline > horizon()) {
+            return false;
+        }
+        place(key, deadline);
+        return true;
+    }
+
+    void cancel(K key) {
+        Placement placement = placements.remove(key);
+        if (placement != null) {
+            buckets[placement.level][slot(placement.deadline, placement.level)].remove(key);
+        }
+    }
+
+    /**
+     * Moves the wheel forward to the given tick.
+     *
+     * @return The keys whose deadline was reached, in deadline order
+     */
+    List<K> advance(long toTick) {
+        List<K> due = new ArrayList<>();
+        while (currentTick < toTick) {
+            currentTick++;
+            int top = 0;
+            while (top + 1 < levels && (currentTick & ((1L << (SLOT_BITS * (top + 1))) - 1)) == 0) {
+                top++;
+            }
+            for (int level = top; level > 0; level--) {
+                cascade(level, due);
+            }
+            Set<K> bucket = buckets[0][(int) (currentTick & SLOT_MASK)];
+            for (K key : bucket) {
+                placements.remove(key);
+                due.add(key);
+            }
+            bucket.clear();
+        }
+        return due;
+    }
+
+    private void cascade(int level, List<K> due) {
+        Set<K> bucket = buckets[level][slot(currentTick, level)];
+        if (bucket.isEmpty()) {
+            return;
+        }
+        List<K> keys = new ArrayList<>(bucket);
+        bucket.clear();
+        for (K key : keys) {
+            long deadline = placements.remove(key).deadline;
+            if (deadline <= currentTick) {
+                due.add(key);
+            } else {
+                place(key, deadline);
+            }
+        }
+    }
+
+    private void place(K key, long deadline) {
+        int level = levelFor(deadline);
+        placements.put(key, new Placement(deadline, level));
+        buckets[level][slot(deadline, level)].add(key);
+    }
+
+    private int levelFor(long deadline) {
+        long delta = deadline - currentTick;
+        int level = 0;
+        while (level + 1 < levels && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        return level;
+    }
+
+    private static int slot(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    private record Placement(long deadline, int level) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.todojustforfun.reminder;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+/**
+ * Published once per reminder, cluster-wide, when an open todo reaches its due date.
+ */
+public record TodoDueEvent(
+        Long todoId,
+        Long userId,
+        String title,
+        OffsetDateTime dueDate,
+        Instant firedAt
+) {
+}
@@ -2,6 +2,8 @@ package com.example.todojustforfun.repositories;
 
 import com.example.todojustforfun.models.GroupMember;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,6 +13,9 @@ public interface GroupMemberRepository extends JpaRepository<GroupMember, Long>
 
     List<GroupMember> findAllByGroupId(Long groupId);
 
+    @Query("select m.userId from GroupMember m where m.groupId = :groupId")
+    List<Long> findUserIdsByGroupId(@Param("groupId") Long groupId);
+
     Optional<GroupMember> findByGroupIdAndUserId(Long groupId, Long userId);
 
     boolean existsByGroupIdAndUserId(Long groupId, Long userId);
@@ -1,12 +1,57 @@
 package com.example.todojustforfun.repositories;
 
+import com.example.todojustforfun.dto.GroupSummaryResponse;
 import com.example.todojustforfun.models.Group;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface GroupRepository extends JpaRepository<Group, Long> {
     Optional<Group> findByJoinCode(String joinCode);
 
-    boolean existsByJoinCode(String joinCode);
+    /**
+     * Reserves the next block of join-code sequence numbers, starting at the returned value.
+     */
+    @Query(value = "select nextval('group_join_code_seq')", nativeQuery = true)
+    long reserveJoinCodeBlock();
+
+    @Query("select g.id from Group g where g.id > :afterId order by g.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("select g.ownerId from Group g where g.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    /**
+     * The user's groups after the given id, each with its member count, its live shared-todo count
+     * from group_todo_stats and the user's role, in one aggregate.
+     */
+    @Query("""
+            select new com.example.todojustforfun.dto.GroupSummaryResponse(
+                g.id, g.name, g.ownerId, g.createdAt, count(peer), coalesce(st.total, 0L),
+                case when g.ownerId = :userId then 'OWNER' else 'MEMBER' end)
+            from GroupMember m
+                join Group g on g.id = m.groupId
+                join GroupMember peer on peer.groupId = g.id
+                left join GroupTodoStats st on st.groupId = g.id
+            where m.userId = :userId and g.id > :afterId
+            group by g.id, g.name, g.ownerId, g.createdAt, st.total
+            order by g.id
+            """)
+    List<GroupSummaryResponse> findSummariesForUser(
+            @Param("userId") Long userId, @Param("afterId") long afterId, Limit limit);
+
+    @Query(value = "select shares_version from groups where id = :id", nativeQuery = true)
+    Optional<Long> findSharesVersion(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query(value = "update groups set shares_version = shares_version + 1 where id in (:ids)", nativeQuery = true)
+    int incrementSharesVersion(@Param("ids") Collection<Long> ids);
 }
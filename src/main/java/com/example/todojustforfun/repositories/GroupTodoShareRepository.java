@@ -1,8 +1,17 @@
 package com.example.todojustforfun.repositories;
 
+import com.example.todojustforfun.dto.TodoCounts;
+import com.example.todojustforfun.dto.TodoResponse;
 import com.example.todojustforfun.models.GroupTodoShare;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,5 +22,147 @@ public interface GroupTodoShareRepository extends JpaRepository<GroupTodoShare,
 
     boolean existsByGroupIdAndTodoId(Long groupId, Long todoId);
 
-    void deleteByGroupIdAndTodoId(Long groupId, Long todoId);
+    long deleteByGroupIdAndTodoId(Long groupId, Long todoId);
+
+    boolean existsByTodoId(Long todoId);
+
+    @Query("""
+            select count(s) from GroupTodoShare s join Todo t on t.id = s.todoId
+            where s.groupId = :groupId and t.completed = false and t.dueDate < :now
+            """)
+    long countOverdue(@Param("groupId") Long groupId, @Param("now") OffsetDateTime now);
+
+    /**
+     * Live todos only; shares of archived todos drop out of the join.
+     */
+    @Query("""
+            select new com.example.todojustforfun.dto.TodoCounts(
+                s.groupId, count(t), sum(case when t.completed = true then 1 else 0 end), count(t))
+            from GroupTodoShare s join Todo t on t.id = s.todoId
+            where s.groupId in :groupIds
+            group by s.groupId
+            """)
+    List<TodoCounts> countByGroupIdIn(@Param("groupIds") Collection<Long> groupIds);
+
+    List<GroupTodoShare> findAllByTodoIdIn(Collection<Long> todoIds);
+
+    @Modifying
+    @Query("delete from GroupTodoShare s where s.todoId in :todoIds")
+    int deleteAllByTodoIdIn(@Param("todoIds") Collection<Long> todoIds);
+
+    /**
+     * Stamps the shares of the given todos with their group's current shares_version.
+     */
+    @Modifying
+    @Query(value = """
+            update group_todo_shares
+            set change_seq = (select g.shares_version from groups g where g.id = group_todo_shares.group_id)
+            where todo_id in (:todoIds)
+            """, nativeQuery = true)
+    int stampChangeSeq(@Param("todoIds") Collection<Long> todoIds);
+
+    @Query("""
+            select s from GroupTodoShare s
+            where s.groupId = :groupId
+              and (s.changeSeq > :changeSeq or (s.changeSeq = :changeSeq and s.todoId > :todoId))
+              and s.changeSeq <= :upTo
+            order by s.changeSeq, s.todoId
+            """)
+    List<GroupTodoShare> findChangedSince(
+            @Param("groupId") Long groupId,
+            @Param("changeSeq") long changeSeq,
+            @Param("todoId") long todoId,
+            @Param("upTo") long upTo,
+            Limit limit);
+
+    /**
+     * Newest first, continuing after (afterCreatedAt, afterId); a null afterId starts at the first page.
+     */
+    @Query("""
+            select new com.example.todojustforfun.dto.TodoResponse(
+                t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt, t.dueDate)
+            from GroupTodoShare s join Todo t on t.id = s.todoId
+            where s.groupId = :groupId
+              and (:ownerId is null or t.userId = :ownerId)
+              and exists (select m.id from GroupMember m where m.groupId = :groupId and m.userId = :requesterId)
+              and (:afterId is null
+                   or t.createdAt < :afterCreatedAt
+                   or (t.createdAt = :afterCreatedAt and t.id < :afterId))
+            order by t.createdAt desc, t.id desc
+            """)
+    List<TodoResponse> findSharedTodosByCreatedAt(
+            @Param("groupId") Long groupId,
+            @Param("requesterId") Long requesterId,
+            @Param("ownerId") Long ownerId,
+            @Param("afterCreatedAt") Instant afterCreatedAt,
+            @Param("afterId") Long afterId,
+            Limit limit);
+
+    /**
+     * Soonest due first with undated todos last, continuing after (afterDueDate, afterId);
+     * a null afterDueDate continues among the undated todos and a null afterId starts at the first page.
+     */
+    @Query("""
+            select new com.example.todojustforfun.dto.TodoResponse(
+                t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt, t.dueDate)
+            from GroupTodoShare s join Todo t on t.id = s.todoId
+            where s.groupId = :groupId
+              and (:ownerId is null or t.userId = :ownerId)
+              and exists (select m.id from GroupMember m where m.groupId = :groupId and m.userId = :requesterId)
+              and (:afterId is null
+                   or (:afterDueDate is null and t.dueDate is null and t.id < :afterId)
+                   or (:afterDueDate is not null and (t.dueDate is null
+                       or t.dueDate > :afterDueDate
+                       or (t.dueDate = :afterDueDate and t.id < :afterId))))
+            order by t.dueDate asc nulls last, t.id desc
+            """)
+    List<TodoResponse> findSharedTodosByDueDate(
+            @Param("groupId") Long groupId,
+            @Param("requesterId") Long requesterId,
+            @Param("ownerId") Long ownerId,
+            @Param("afterDueDate") OffsetDateTime afterDueDate,
+            @Param("afterId") Long afterId,
+            Limit limit);
+
+    @Query("""
+            select new com.example.todojustforfun.dto.TodoResponse(
+                t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt, t.dueDate)
+            from GroupTodoShare s join StoredTodo t on t.id = s.todoId
+            where s.groupId = :groupId
+              and (:ownerId is null or t.userId = :ownerId)
+              and exists (select m.id from GroupMember m where m.groupId = :groupId and m.userId = :requesterId)
+              and (:afterId is null
+                   or t.createdAt < :afterCreatedAt
+                   or (t.createdAt = :afterCreatedAt and t.id < :afterId))
+            order by t.createdAt desc, t.id desc
+            """)
+    List<TodoResponse> findSharedTodosIncludingArchivedByCreatedAt(
+            @Param("groupId") Long groupId,
+            @Param("requesterId") Long requesterId,
+            @Param("ownerId") Long ownerId,
+            @Param("afterCreatedAt") Instant afterCreatedAt,
+            @Param("afterId") Long afterId,
+            Limit limit);
+
+    @Query("""
+            select new com.example.todojustforfun.dto.TodoResponse(
+                t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt, t.dueDate)
+            from GroupTodoShare s join StoredTodo t on t.id = s.todoId
+            where s.groupId = :groupId
+              and (:ownerId is null or t.userId = :ownerId)
+              and exists (select m.id from GroupMember m where m.groupId = :groupId and m.userId = :requesterId)
+              and (:afterId is null
+                   or (:afterDueDate is null and t.dueDate is null and t.id < :afterId)
+                   or (:afterDueDate is not null and (t.dueDate is null
+                       or t.dueDate > :afterDueDate
+                       or (t.dueDate = :afterDueDate and t.id < :afterId))))
+            order by t.dueDate asc nulls last, t.id desc
+            """)
+    List<TodoResponse> findSharedTodosIncludingArchivedByDueDate(
+            @Param("groupId") Long groupId,
+            @Param("requesterId") Long requesterId,
+            @Param("ownerId") Long ownerId,
+            @Param("afterDueDate") OffsetDateTime afterDueDate,
+            @Param("afterId") Long afterId,
+            Limit limit);
 }
@@ -0,0 +1,33 @@
+package com.example.todojustforfun.repositories;
+
+import com.example.todojustforfun.models.GroupTodoStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface GroupTodoStatsRepository extends JpaRepository<GroupTodoStats, Long> {
+    @Modifying
+    @Query(value = """
+            update group_todo_stats
+            set total = total + :total, completed = completed + :completed
+            where group_id = :groupId
+            """, nativeQuery = true)
+    int adjust(@Param("groupId") Long groupId, @Param("total") long total, @Param("completed") long completed);
+
+    @Modifying
+    @Query(value = """
+            insert into group_todo_stats (group_id)
+            select id from groups where id in (:groupIds)
+            on conflict do nothing
+            """, nativeQuery = true)
+    int insertMissing(@Param("groupIds") Collection<Long> groupIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<GroupTodoStats> findAllByGroupIdInOrderByGroupId(Collection<Long> groupIds);
+}
@@ -0,0 +1,49 @@
+package com.example.todojustforfun.repositories;
+
+import com.example.todojustforfun.models.GroupTodoTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface GroupTodoTombstoneRepository extends JpaRepository<GroupTodoTombstone, Long> {
+    @Query("""
+            select t from GroupTodoTombstone t
+            where t.groupId = :groupId
+              and (t.changeSeq > :changeSeq or (t.changeSeq = :changeSeq and t.todoId > :todoId))
+              and t.changeSeq <= :upTo
+            order by t.changeSeq, t.todoId
+            """)
+    List<GroupTodoTombstone> findChangedSince(
+            @Param("groupId") Long groupId,
+            @Param("changeSeq") long changeSeq,
+            @Param("todoId") long todoId,
+            @Param("upTo") long upTo,
+            Limit limit);
+
+    /**
+     * Tombstones every share of the given todos at its group's current shares_version.
+     */
+    @Modifying
+    @Query(value = """
+            insert into group_todo_tombstones (group_id, todo_id, change_seq)
+            select s.group_id, s.todo_id, g.shares_version
+            from group_todo_shares s join groups g on g.id = s.group_id
+            where s.todo_id in (:todoIds)
+            """, nativeQuery = true)
+    int insertForSharesOf(@Param("todoIds") Collection<Long> todoIds);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            delete from group_todo_tombstones
+            where id in (select id from group_todo_tombstones where removed_at < :cutoff limit :batchSize)
+            """, nativeQuery = true)
+    int deleteRemovedBeforeBatch(@Param("cutoff") Instant cutoff, @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,28 @@
+package com.example.todojustforfun.repositories;
+
+import com.example.todojustforfun.models.StoredTodo;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.repository.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads over live and archived todos together. Everything else goes through {@link TodoRepository},
+ * which only sees live todos.
+ */
+public interface StoredTodoRepository extends Repository<StoredTodo, Long> {
+    Optional<StoredTodo> findById(Long id);
+
+    Optional<StoredTodo> findByIdAndUserId(Long id, Long userId);
+
+    List<StoredTodo> findAllByIdIn(Collection<Long> ids);
+
+    Window<StoredTodo> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, ScrollPosition position, Limit limit);
+
+    Window<StoredTodo> findByUserIdAndCompletedOrderByCreatedAtDescIdDesc(
+            Long userId, Boolean completed, ScrollPosition position, Limit limit);
+}
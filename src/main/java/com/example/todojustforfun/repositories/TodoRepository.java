@@ -1,22 +1,36 @@
 package com.example.todojustforfun.repositories;
 
+import com.example.todojustforfun.dto.TodoCounts;
+import com.example.todojustforfun.dto.TodoResponse;
 import com.example.todojustforfun.models.Todo;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TodoRepository extends JpaRepository<Todo, Long> {
+    int EXPORT_FETCH_SIZE = 500;
+
     List<Todo> findByTitleIgnoreCaseContaining(String title);
 
     List<Todo> findByUserIdAndTitleIgnoreCaseContaining(Long userId, String title);
 
-    Optional<Todo> findByTitleIgnoreCase(String title);
-
-    boolean existsByTitleIgnoreCase(String title);
-
-    boolean existsByTitleIgnoreCaseAndIdNot(String title, Long id);
-
     List<Todo> findAllByCompleted(Boolean completed);
 
     List<Todo> findAllByUserId(Long userId);
@@ -24,4 +38,160 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
     List<Todo> findAllByUserIdAndCompleted(Long userId, Boolean completed);
 
     Optional<Todo> findByIdAndUserId(Long id, Long userId);
+
+    List<Todo> findAllByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    @Query(value = """
+            select * from todos
+            where user_id = :userId and lower(title) like :pattern escape '\\'
+            order by similarity(lower(title), :query) desc, id desc
+            limit :limit
+            """, nativeQuery = true)
+    List<Todo> searchByTitleTrigram(
+            @Param("userId") Long userId,
+            @Param("pattern") String pattern,
+            @Param("query") String query,
+            @Param("limit") int limit);
+
+    @Query("select t from Todo t where t.userId = :userId and lower(t.title) in :titles")
+    List<Todo> findAllByUserIdAndLowerTitleIn(@Param("userId") Long userId, @Param("titles") Collection<String> titles);
+
+    Window<Todo> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, ScrollPosition position, Limit limit);
+
+    /**
+     * Every live todo of a user, newest first, read as response DTOs so rows never enter the
+     * persistence context. Must be consumed and closed inside a transaction; the fetch size lets the
+     * driver read rows in batches instead of buffering the whole result.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("""
+            select new com.example.todojustforfun.dto.TodoResponse(
+                t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt, t.dueDate)
+            from Todo t
+            where t.userId = :userId
+            order by t.createdAt desc, t.id desc
+            """)
+    Stream<TodoResponse> streamResponsesByUserId(@Param("userId") Long userId);
+
+    Window<Todo> findByUserIdAndCompletedOrderByCreatedAtDescIdDesc(
+            Long userId, Boolean completed, ScrollPosition position, Limit limit);
+
+    Window<Todo> findByUserIdAndCompletedAndDueDateBeforeOrderByDueDateAscIdAsc(
+            Long userId, Boolean completed, OffsetDateTime before, ScrollPosition position, Limit limit);
+
+    Window<Todo> findByUserIdAndCompletedAndDueDateGreaterThanEqualAndDueDateLessThanOrderByDueDateAscIdAsc(
+            Long userId, Boolean completed, OffsetDateTime from, OffsetDateTime to, ScrollPosition position, Limit limit);
+
+    Window<Todo> findByUserIdAndCompletedAndDueDateNotNullOrderByDueDateAscIdAsc(
+            Long userId, Boolean completed, ScrollPosition position, Limit limit);
+
+    long countByUserIdAndCompletedAndDueDateBefore(Long userId, Boolean completed, OffsetDateTime before);
+
+    @Query("""
+            select new com.example.todojustforfun.dto.TodoCounts(
+                t.userId,
+                count(t),
+                sum(case when t.completed = true then 1 else 0 end),
+                sum(case when exists (select s.id from GroupTodoShare s where s.todoId = t.id) then 1 else 0 end))
+            from Todo t
+            where t.userId in :userIds
+            group by t.userId
+            """)
+    List<TodoCounts> countByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Query("""
+            select t from Todo t
+            where t.userId = :userId
+              and (t.changeSeq > :changeSeq or (t.changeSeq = :changeSeq and t.id > :todoId))
+              and t.changeSeq <= :upTo
+            order by t.changeSeq, t.id
+            """)
+    List<Todo> findChangedSince(
+            @Param("userId") Long userId,
+            @Param("changeSeq") long changeSeq,
+            @Param("todoId") long todoId,
+            @Param("upTo") long upTo,
+            Limit limit);
+
+    /**
+     * Todos completed before the cutoff, in (completedAt, id) order after the given key.
+     */
+    @Query("""
+            select t from Todo t
+            where t.completedAt < :cutoff
+              and (t.completedAt > :afterCompletedAt or (t.completedAt = :afterCompletedAt and t.id > :afterId))
+            order by t.completedAt, t.id
+            """)
+    List<Todo> findArchivable(
+            @Param("cutoff") Instant cutoff,
+            @Param("afterCompletedAt") Instant afterCompletedAt,
+            @Param("afterId") long afterId,
+            Limit limit);
+
+    /**
+     * Row-locks the given todos that are still archivable; ones reopened in the meantime are skipped.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Todo t where t.id in :ids and t.completedAt < :cutoff")
+    List<Todo> lockArchivable(@Param("ids") Collection<Long> ids, @Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Query(value = """
+            insert into todos_archive
+                (id, title, description, completed, created_at, updated_at, change_seq, due_date, user_id, completed_at, archived_at)
+            select id, title, description, completed, created_at, updated_at, change_seq, due_date, user_id, completed_at, :archivedAt
+            from todos
+            where id in (:ids)
+            """, nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<Long> ids, @Param("archivedAt") Instant archivedAt);
+
+    @Modifying
+    @Query(value = "delete from todos where id in (:ids)", nativeQuery = true)
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Row-locks the user's archived todos among the given ids and returns their ids.
+     */
+    @Query(value = "select id from todos_archive where user_id = :userId and id in (:ids) for update", nativeQuery = true)
+    List<Long> lockArchivedIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from todos_archive where id in (:ids)", nativeQuery = true)
+    int deleteArchivedByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Open todos whose reminder has not fired and that are due by the given time, in (dueDate, id)
+     * order after the given key.
+     */
+    @Query("""
+            select t from Todo t
+            where t.completed = false and t.remindedAt is null
+              and t.dueDate <= :until
+              and (t.dueDate > :afterDueDate or (t.dueDate = :afterDueDate and t.id > :afterId))
+            order by t.dueDate, t.id
+            """)
+    List<Todo> findPendingReminders(
+            @Param("until") OffsetDateTime until,
+            @Param("afterDueDate") OffsetDateTime afterDueDate,
+            @Param("afterId") long afterId,
+            Limit limit);
+
+    /**
+     * Marks the todo's reminder as fired if it is still open, unreminded and due. Only one node
+     * wins the update, so a reminder fires once even when several nodes have it scheduled.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update Todo t set t.remindedAt = :now
+            where t.id = :id and t.completed = false and t.remindedAt is null and t.dueDate <= :dueBy
+            """)
+    int claimReminder(@Param("id") Long id, @Param("dueBy") OffsetDateTime dueBy, @Param("now") Instant now);
+
+    /**
+     * Re-arms the reminder of a todo whose due date changed.
+     */
+    @Modifying
+    @Query("update Todo t set t.remindedAt = null where t.id = :id")
+    int clearReminder(@Param("id") Long id);
 }
@@ -0,0 +1,49 @@
+package com.example.todojustforfun.repositories;
+
+import com.example.todojustforfun.models.TodoTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface TodoTombstoneRepository extends JpaRepository<TodoTombstone, Long> {
+    @Query("""
+            select t from TodoTombstone t
+            where t.userId = :userId
+              and (t.changeSeq > :changeSeq or (t.changeSeq = :changeSeq and t.todoId > :todoId))
+              and t.changeSeq <= :upTo
+            order by t.changeSeq, t.todoId
+            """)
+    List<TodoTombstone> findChangedSince(
+            @Param("userId") Long userId,
+            @Param("changeSeq") long changeSeq,
+            @Param("todoId") long todoId,
+            @Param("upTo") long upTo,
+            Limit limit);
+
+    /**
+     * Tombstones the given todos, live or archived, at changeSeq; must run before the rows are deleted.
+     */
+    @Modifying
+    @Query(value = """
+            insert into todo_tombstones (todo_id, user_id, change_seq)
+            select id, user_id, cast(:changeSeq as bigint) from todos where id in (:todoIds)
+            union all
+            select id, user_id, cast(:changeSeq as bigint) from todos_archive where id in (:todoIds)
+            """, nativeQuery = true)
+    int insertFor(@Param("todoIds") Collection<Long> todoIds, @Param("changeSeq") long changeSeq);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            delete from todo_tombstones
+            where todo_id in (select todo_id from todo_tombstones where removed_at < :cutoff limit :batchSize)
+            """, nativeQuery = true)
+    int deleteRemovedBeforeBatch(@Param("cutoff") Instant cutoff, @Param("batchSize") int batchSize);
+}
@@ -1,10 +1,32 @@
 package com.example.todojustforfun.repositories;
 
 import com.example.todojustforfun.models.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    @Query("select u.id from User u where u.id > :afterId order by u.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.passwordHash = :passwordHash where u.email = :email")
+    int updatePasswordHash(@Param("email") String email, @Param("passwordHash") String passwordHash);
+
+    @Query(value = "select todos_version from users where id = :id", nativeQuery = true)
+    Optional<Long> findTodosVersion(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query(value = "update users set todos_version = todos_version + 1 where id = :id", nativeQuery = true)
+    int incrementTodosVersion(@Param("id") Long id);
 }
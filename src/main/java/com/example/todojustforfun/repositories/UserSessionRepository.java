@@ -0,0 +1,25 @@
+package com.example.todojustforfun.repositories;
+
+import com.example.todojustforfun.models.UserSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface UserSessionRepository extends JpaRepository<UserSession, String> {
+    @Transactional
+    @Modifying
+    @Query("update UserSession s set s.expiresAt = :expiresAt where s.id = :id")
+    int extend(@Param("id") String id, @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            delete from user_sessions
+            where id in (select id from user_sessions where expires_at < :now limit :batchSize)
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,37 @@
+package com.example.todojustforfun.repositories;
+
+import com.example.todojustforfun.models.UserTodoStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface UserTodoStatsRepository extends JpaRepository<UserTodoStats, Long> {
+    @Modifying
+    @Query(value = """
+            update user_todo_stats
+            set total = total + :total, completed = completed + :completed, shared = shared + :shared
+            where user_id = :userId
+            """, nativeQuery = true)
+    int adjust(
+            @Param("userId") Long userId,
+            @Param("total") long total,
+            @Param("completed") long completed,
+            @Param("shared") long shared);
+
+    @Modifying
+    @Query(value = """
+            insert into user_todo_stats (user_id)
+            select id from users where id in (:userIds)
+            on conflict do nothing
+            """, nativeQuery = true)
+    int insertMissing(@Param("userIds") Collection<Long> userIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<UserTodoStats> findAllByUserIdInOrderByUserId(Collection<Long> userIds);
+}
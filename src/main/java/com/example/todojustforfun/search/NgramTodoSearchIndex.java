@@ -0,0 +1,148 @@
+package com.example.todojustforfun.search;
+
+import com.example.todojustforfun.cache.ExpiringCache;
+import com.example.todojustforfun.models.Todo;
+import com.example.todojustforfun.repositories.TodoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process n-gram index for databases without trigram support (the H2 profile).
+ * Each user's titles are loaded on first search and then kept in sync from entity events.
+ * Indexes live in a bounded {@link ExpiringCache} and are loaded outside any map operation, so a
+ * slow load never blocks other users' searches; the TTL bounds how long an index built while a
+ * concurrent write was committing can miss that write.
+ * Every 1-, 2- and 3-gram of a title is indexed, so a query is answered by intersecting
+ * the posting lists of its grams instead of scanning all of the user's todos.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "ngram")
+public class NgramTodoSearchIndex implements TodoSearchIndex {
+    private static final int GRAM_SIZE = 3;
+
+    private final TodoRepository todoRepository;
+    private final ExpiringCache<Long, UserIndex> indexes;
+
+    public NgramTodoSearchIndex(
+            TodoRepository todoRepository,
+            @Value("${app.search.ngram.cache-ttl:PT10M}") Duration ttl,
+            @Value("${app.search.ngram.max-users:1000}") int maxUsers,
+            MeterRegistry meterRegistry
+    ) {
+        this.todoRepository = todoRepository;
+        this.indexes = new ExpiringCache<>("search-ngram-indexes", ttl, maxUsers, meterRegistry);
+    }
+
+    @Override
+    public List<Todo> search(Long userId, String query, int limit) {
+        String normalized = query.toLowerCase(Locale.ROOT);
+        List<Long> ranked = indexes.get(userId, this::load).orElseThrow().search(normalized, limit);
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Todo> todos = todoRepository.findAllByUserIdAndIdIn(userId, ranked)
+                .stream()
+                .collect(Collectors.toMap(Todo::getId, Function.identity()));
+
+        return ranked.stream()
+                .map(todos::get)
+                .filter(todo -> todo != null && todo.getTitle().toLowerCase(Locale.ROOT).contains(normalized))
+                .toList();
+    }
+
+    @Override
+    public void onSaved(Todo todo) {
+        indexes.getIfPresent(todo.getUserId()).ifPresent(index -> index.put(todo.getId(), todo.getTitle()));
+    }
+
+    @Override
+    public void onDeleted(Todo todo) {
+        indexes.getIfPresent(todo.getUserId()).ifPresent(index -> index.remove(todo.getId()));
+    }
+
+    private Optional<UserIndex> load(Long userId) {
+        UserIndex index = new UserIndex();
+        todoRepository.findAllByUserId(userId).forEach(todo -> index.put(todo.getId(), todo.getTitle()));
+        return Optional.of(index);
+    }
+
+    private static Set<String> grams(String text, int size) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + size <= text.length(); i++) {
+            grams.add(text.substring(i, i + size));
+        }
+        return grams;
+    }
+
+    private static final class UserIndex {
+        private final Map<Long, String> titles = new HashMap<>();
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+
+        synchronized void put(Long id, String title) {
+            remove(id);
+            String normalized = title.toLowerCase(Locale.ROOT);
+            titles.put(id, normalized);
+            for (int size = 1; size <= GRAM_SIZE; size++) {
+                grams(normalized, size).forEach(gram -> postings.computeIfAbsent(gram, g -> new HashSet<>()).add(id));
+            }
+        }
+
+        synchronized void remove(Long id) {
+            String previous = titles.remove(id);
+            if (previous == null) {
+                return;
+            }
+            for (int size = 1; size <= GRAM_SIZE; size++) {
+                grams(previous, size).forEach(gram -> {
+                    Set<Long> ids = postings.get(gram);
+                    if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                });
+            }
+        }
+
+        synchronized List<Long> search(String query, int limit) {
+            List<Set<Long>> lists = new ArrayList<>();
+            for (String gram : grams(query, Math.min(query.length(), GRAM_SIZE))) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) {
+                    return List.of();
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+
+            List<Long> matches = new ArrayList<>();
+            for (Long id : lists.getFirst()) {
+                String title = titles.get(id);
+                if (lists.stream().allMatch(ids -> ids.contains(id)) && title.contains(query)) {
+                    matches.add(id);
+                }
+            }
+
+            return matches.stream()
+                    .sorted(Comparator.<Long>comparingInt(id -> titles.get(id).indexOf(query))
+                            .thenComparingInt(id -> titles.get(id).length())
+                            .thenComparing(Comparator.<Long>reverseOrder()))
+                    .limit(limit)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.todojustforfun.search;
+
+import com.example.todojustforfun.models.Todo;
+
+import java.util.List;
+
+public interface TodoSearchIndex {
+    /**
+     * @return The user's todos whose title contains the query, best matches first
+     */
+    List<Todo> search(Long userId, String query, int limit);
+
+    void onSaved(Todo todo);
+
+    void onDeleted(Todo todo);
+}
@@ -0,0 +1,34 @@
+package com.example.todojustforfun.search;
+
+import com.example.todojustforfun.models.Todo;
+import com.example.todojustforfun.transaction.AfterCommit;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Forwards todo writes to the search index once the surrounding transaction commits,
+ * so rolled-back writes never reach the index. The index is resolved lazily because
+ * Hibernate creates this listener while the repositories it depends on are still starting.
+ */
+@Component
+public class TodoSearchIndexListener {
+    private final ObjectProvider<TodoSearchIndex> todoSearchIndex;
+
+    public TodoSearchIndexListener(ObjectProvider<TodoSearchIndex> todoSearchIndex) {
+        this.todoSearchIndex = todoSearchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Todo todo) {
+        AfterCommit.run(() -> todoSearchIndex.getObject().onSaved(todo));
+    }
+
+    @PostRemove
+    public void onDeleted(Todo todo) {
+        AfterCommit.run(() -> todoSearchIndex.getObject().onDeleted(todo));
+    }
+}
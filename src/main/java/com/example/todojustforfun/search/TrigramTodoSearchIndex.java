@@ -0,0 +1,41 @@
+package com.example.todojustforfun.search;
+
+import com.example.todojustforfun.models.Todo;
+import com.example.todojustforfun.repositories.TodoRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Substring search served by the pg_trgm GIN index on lower(title).
+ * The database keeps the index in sync, so write notifications are ignored.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "trigram", matchIfMissing = true)
+public class TrigramTodoSearchIndex implements TodoSearchIndex {
+    private final TodoRepository todoRepository;
+
+    public TrigramTodoSearchIndex(TodoRepository todoRepository) {
+        this.todoRepository = todoRepository;
+    }
+
+    @Override
+    public List<Todo> search(Long userId, String query, int limit) {
+        String normalized = query.toLowerCase(Locale.ROOT);
+        String pattern = "%" + normalized
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return todoRepository.searchByTitleTrigram(userId, pattern, normalized, limit);
+    }
+
+    @Override
+    public void onSaved(Todo todo) {
+    }
+
+    @Override
+    public void onDeleted(Todo todo) {
+    }
+}
@@ -2,19 +2,30 @@ package com.example.todojustforfun.security;
 
 import com.example.todojustforfun.models.User;
 import com.example.todojustforfun.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
+import java.util.Set;
 
 @Service
-public class DbUserDetailsServiceImpl implements DbUserDetailsService, UserDetailsService {
+public class DbUserDetailsServiceImpl implements DbUserDetailsService, UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
+    private final Set<String> adminEmails;
 
-    public DbUserDetailsServiceImpl(UserRepository userRepository) {
+    /**
+     * @param adminEmails accounts that also get ROLE_ADMIN, which the actuator endpoints other than health require
+     */
+    public DbUserDetailsServiceImpl(
+            UserRepository userRepository,
+            @Value("${app.security.admin-emails:}") Set<String> adminEmails
+    ) {
         this.userRepository = userRepository;
+        this.adminEmails = adminEmails;
     }
 
     @Override
@@ -24,7 +35,7 @@ public class DbUserDetailsServiceImpl implements DbUserDetailsService, UserDetai
         return user.map(u -> org.springframework.security.core.userdetails.User
                         .withUsername(u.getEmail())
                         .password(u.getPasswordHash())
-                        .roles("USER")
+                        .roles(adminEmails.contains(u.getEmail()) ? new String[]{"USER", "ADMIN"} : new String[]{"USER"})
                         .build())
                 .orElseThrow(() -> new UsernameNotFoundException(
                         "User not found with email: " + email));
@@ -34,4 +45,16 @@ public class DbUserDetailsServiceImpl implements DbUserDetailsService, UserDetai
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return loadUserByEmail(username);
     }
+
+    /**
+     * Called by the authentication provider after a successful login when the stored hash
+     * was written with a different BCrypt cost than the configured one.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordHash(user.getUsername(), newPassword);
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
 }
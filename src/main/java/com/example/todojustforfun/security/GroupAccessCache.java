@@ -0,0 +1,72 @@
+package com.example.todojustforfun.security;
+
+import com.example.todojustforfun.cache.ExpiringCache;
+import com.example.todojustforfun.repositories.GroupMemberRepository;
+import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.transaction.AfterCommit;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Per-node cache of group ownership and membership used for authorization checks.
+ * Group services write through it after their transactions commit; removals are also
+ * applied immediately so a revoked member is never served from cache.
+ * Changes made on other nodes are bounded by the TTL.
+ */
+@Component
+public class GroupAccessCache {
+    private final GroupRepository groupRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final ExpiringCache<Long, Long> owners;
+    private final ExpiringCache<MemberKey, Boolean> memberships;
+
+    public GroupAccessCache(
+            GroupRepository groupRepository,
+            GroupMemberRepository groupMemberRepository,
+            @Value("${app.groups.access-cache.ttl:PT30S}") Duration ttl,
+            @Value("${app.groups.access-cache.max-size:100000}") int maxSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.groupRepository = groupRepository;
+        this.groupMemberRepository = groupMemberRepository;
+        this.owners = new ExpiringCache<>("group-owners", ttl, maxSize, meterRegistry);
+        this.memberships = new ExpiringCache<>("group-memberships", ttl, maxSize, meterRegistry);
+    }
+
+    /**
+     * @return The group's owner id, or empty when the group does not exist
+     */
+    public Optional<Long> ownerOf(Long groupId) {
+        return owners.get(groupId, groupRepository::findOwnerIdById);
+    }
+
+    public boolean isMember(Long groupId, Long userId) {
+        return memberships.get(new MemberKey(groupId, userId),
+                        key -> Optional.of(groupMemberRepository.existsByGroupIdAndUserId(key.groupId(), key.userId())))
+                .orElse(false);
+    }
+
+    public void groupCreated(Long groupId, Long ownerId) {
+        AfterCommit.run(() -> {
+            owners.put(groupId, ownerId);
+            memberships.put(new MemberKey(groupId, ownerId), true);
+        });
+    }
+
+    public void memberAdded(Long groupId, Long userId) {
+        AfterCommit.run(() -> memberships.put(new MemberKey(groupId, userId), true));
+    }
+
+    public void memberRemoved(Long groupId, Long userId) {
+        MemberKey key = new MemberKey(groupId, userId);
+        memberships.evict(key);
+        AfterCommit.run(() -> memberships.put(key, false));
+    }
+
+    private record MemberKey(Long groupId, Long userId) {
+    }
+}
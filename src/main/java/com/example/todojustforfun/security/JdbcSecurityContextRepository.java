@@ -0,0 +1,222 @@
+package com.example.todojustforfun.security;
+
+import com.example.todojustforfun.cache.ExpiringCache;
+import com.example.todojustforfun.models.UserSession;
+import com.example.todojustforfun.repositories.UserSessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.DeferredSecurityContext;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Stores security contexts in the user_sessions table so any node can serve any request.
+ * The cookie carries a random token; only its SHA-256 is stored. Resolved sessions are kept
+ * in a short-lived near-cache, so a logout on another node takes effect within its TTL.
+ * Expiry slides, but the row is only rewritten once less than half of the timeout is left.
+ */
+@Component
+public class JdbcSecurityContextRepository implements SecurityContextRepository {
+    private static final int TOKEN_BYTES = 32;
+
+    private final UserSessionRepository userSessionRepository;
+    private final ExpiringCache<String, StoredSession> nearCache;
+    private final Duration timeout;
+    private final String cookieName;
+    private final boolean secureCookie;
+    private final SecureRandom random = new SecureRandom();
+
+    public JdbcSecurityContextRepository(
+            UserSessionRepository userSessionRepository,
+            @Value("${app.session.timeout:PT30M}") Duration timeout,
+            @Value("${app.session.cookie-name:SESSION}") String cookieName,
+            @Value("${app.session.cookie-secure:false}") boolean secureCookie,
+            @Value("${app.session.near-cache.ttl:PT30S}") Duration nearCacheTtl,
+            @Value("${app.session.near-cache.max-size:100000}") int nearCacheMaxSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.userSessionRepository = userSessionRepository;
+        this.timeout = timeout;
+        this.cookieName = cookieName;
+        this.secureCookie = secureCookie;
+        this.nearCache = new ExpiringCache<>("sessions", nearCacheTtl, nearCacheMaxSize, meterRegistry);
+    }
+
+    @Override
+    public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {
+        return new DeferredSecurityContext() {
+            private Optional<StoredSession> session;
+
+            @Override
+            public SecurityContext get() {
+                return resolve()
+                        .<SecurityContext>map(stored -> new SecurityContextImpl(stored.authentication()))
+                        .orElseGet(SecurityContextHolder::createEmptyContext);
+            }
+
+            @Override
+            public boolean isGenerated() {
+                return resolve().isEmpty();
+            }
+
+            private Optional<StoredSession> resolve() {
+                if (session == null) {
+                    session = load(request);
+                }
+                return session;
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public SecurityContext loadContext(HttpRequestResponseHolder requestResponseHolder) {
+        return loadDeferredContext(requestResponseHolder.getRequest()).get();
+    }
+
+    /**
+     * Opens a session for a newly authenticated context; an empty or anonymous context
+     * ends the current one. Saving the context already bound to the cookie is a no-op.
+     */
+    @Override
+    public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
+        Authentication authentication = context.getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            invalidate(request, response);
+            return;
+        }
+
+        Optional<StoredSession> current = load(request);
+        if (current.isPresent() && current.get().authentication().getName().equals(authentication.getName())) {
+            return;
+        }
+        current.ifPresent(stored -> delete(stored.id()));
+
+        String token = newToken();
+        UserSession session = new UserSession();
+        session.setId(hash(token));
+        session.setContext(SecurityContextCodec.encode(authentication));
+        session.setExpiresAt(Instant.now().plus(timeout));
+        userSessionRepository.save(session);
+
+        request.setAttribute(cookieName, token);
+        writeCookie(response, token, timeout);
+    }
+
+    @Override
+    public boolean containsContext(HttpServletRequest request) {
+        return load(request).isPresent();
+    }
+
+    public void invalidate(HttpServletRequest request, HttpServletResponse response) {
+        String token = token(request);
+        if (token != null) {
+            delete(hash(token));
+        }
+        writeCookie(response, "", Duration.ZERO);
+    }
+
+    private Optional<StoredSession> load(HttpServletRequest request) {
+        String token = token(request);
+        if (token == null) {
+            return Optional.empty();
+        }
+
+        String id = hash(token);
+        Optional<StoredSession> stored = nearCache.get(id, this::fetch);
+        Instant now = Instant.now();
+        if (stored.isEmpty() || !stored.get().expiresAt().isAfter(now)) {
+            nearCache.evict(id);
+            return Optional.empty();
+        }
+
+        if (Duration.between(now, stored.get().expiresAt()).compareTo(timeout.dividedBy(2)) < 0) {
+            Instant expiresAt = now.plus(timeout);
+            if (userSessionRepository.extend(id, expiresAt) == 0) {
+                nearCache.evict(id);
+                return Optional.empty();
+            }
+            StoredSession extended = new StoredSession(id, stored.get().authentication(), expiresAt);
+            nearCache.put(id, extended);
+            return Optional.of(extended);
+        }
+        return stored;
+    }
+
+    private Optional<StoredSession> fetch(String id) {
+        return userSessionRepository.findById(id)
+                .flatMap(session -> Optional.ofNullable(SecurityContextCodec.decode(session.getContext()))
+                        .map(authentication -> new StoredSession(id, authentication, session.getExpiresAt())));
+    }
+
+    private void delete(String id) {
+        nearCache.evict(id);
+        userSessionRepository.deleteById(id);
+    }
+
+    private String token(HttpServletRequest request) {
+        Object issued = request.getAttribute(cookieName);
+        if (issued instanceof String token) {
+            return token;
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (cookieName.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    private void writeCookie(HttpServletResponse response, String value, Duration maxAge) {
+        ResponseCookie cookie = ResponseCookie.from(cookieName, value)
+                .httpOnly(true)
+                .secure(secureCookie)
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(maxAge)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record StoredSession(String id, Authentication authentication, Instant expiresAt) {
+    }
+}
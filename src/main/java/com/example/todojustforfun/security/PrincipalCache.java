@@ -0,0 +1,41 @@
+package com.example.todojustforfun.security;
+
+import com.example.todojustforfun.cache.ExpiringCache;
+import com.example.todojustforfun.dto.UserResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Per-node cache of resolved principals keyed by email.
+ * Lets request handlers turn the authenticated name into a user id
+ * without a users-table lookup on every call.
+ */
+@Component
+public class PrincipalCache {
+    private final ExpiringCache<String, UserResponse> cache;
+
+    public PrincipalCache(
+            @Value("${app.security.principal-cache.ttl:PT5M}") Duration ttl,
+            @Value("${app.security.principal-cache.max-size:10000}") int maxSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.cache = new ExpiringCache<>("principals", ttl, maxSize, meterRegistry);
+    }
+
+    public Optional<UserResponse> get(String email, Function<String, Optional<UserResponse>> loader) {
+        return cache.get(email, loader);
+    }
+
+    public void evict(String email) {
+        cache.evict(email);
+    }
+
+    public void evictAll() {
+        cache.evictAll();
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.todojustforfun.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-node token buckets, one per endpoint group and user, or per endpoint group and client IP
+ * for unauthenticated requests. Each bucket is a single AtomicLong holding the time at which it
+ * will be full again, so taking a token is one CAS and allocates nothing once the bucket exists.
+ * A bucket whose refill time has passed is full, which is the same as having no bucket, so
+ * eviction can drop it without changing any decision.
+ */
+@Component
+public class RateLimiter {
+    public enum EndpointGroup {
+        AUTH("auth"),
+        TODO_READ("todo-read"),
+        TODO_WRITE("todo-write"),
+        GROUP_READ("group-read");
+
+        private final String tag;
+
+        EndpointGroup(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final boolean enabled;
+    private final Map<EndpointGroup, Limit> limits = new EnumMap<>(EndpointGroup.class);
+
+    public RateLimiter(
+            @Value("${app.ratelimit.enabled:true}") boolean enabled,
+            @Value("${app.ratelimit.auth.capacity:10}") int authCapacity,
+            @Value("${app.ratelimit.auth.period:PT1M}") Duration authPeriod,
+            @Value("${app.ratelimit.todo-read.capacity:300}") int todoReadCapacity,
+            @Value("${app.ratelimit.todo-read.period:PT1M}") Duration todoReadPeriod,
+            @Value("${app.ratelimit.todo-write.capacity:120}") int todoWriteCapacity,
+            @Value("${app.ratelimit.todo-write.period:PT1M}") Duration todoWritePeriod,
+            @Value("${app.ratelimit.group-read.capacity:300}") int groupReadCapacity,
+            @Value("${app.ratelimit.group-read.period:PT1M}") Duration groupReadPeriod,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        limits.put(EndpointGroup.AUTH, new Limit(EndpointGroup.AUTH, authCapacity, authPeriod, meterRegistry));
+        limits.put(EndpointGroup.TODO_READ,
+                new Limit(EndpointGroup.TODO_READ, todoReadCapacity, todoReadPeriod, meterRegistry));
+        limits.put(EndpointGroup.TODO_WRITE,
+                new Limit(EndpointGroup.TODO_WRITE, todoWriteCapacity, todoWritePeriod, meterRegistry));
+        limits.put(EndpointGroup.GROUP_READ,
+                new Limit(EndpointGroup.GROUP_READ, groupReadCapacity, groupReadPeriod, meterRegistry));
+        Gauge.builder("http.ratelimit.buckets", limits, RateLimiter::bucketCount).register(meterRegistry);
+    }
+
+    /**
+     * Maps a request to its endpoint group, or null for requests that are not limited.
+     * Only the credential-checking auth endpoints share the small AUTH budget; reads such as
+     * /auth/me are not limited.
+     */
+    public static EndpointGroup classify(String method, String path, int offset) {
+        boolean read = "GET".equals(method) || "HEAD".equals(method);
+        if ("POST".equals(method)
+                && (startsWithSegment(path, offset, "/auth/login") || startsWithSegment(path, offset, "/auth/register"))) {
+            return EndpointGroup.AUTH;
+        }
+        if (startsWithSegment(path, offset, "/todos")) {
+            return read ? EndpointGroup.TODO_READ : EndpointGroup.TODO_WRITE;
+        }
+        if (read && startsWithSegment(path, offset, "/groups")) {
+            return EndpointGroup.GROUP_READ;
+        }
+        return null;
+    }
+
+    /**
+     * Takes a token from the user's bucket, or from the IP's bucket when userName is null.
+     *
+     * @return 0 if the request may proceed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(EndpointGroup group, String userName, String ip) {
+        return tryAcquire(group, userName, ip, System.nanoTime());
+    }
+
+    long tryAcquire(EndpointGroup group, String userName, String ip, long now) {
+        if (!enabled) {
+            return 0;
+        }
+        Limit limit = limits.get(group);
+        boolean byUser = userName != null;
+        long wait = limit.acquire(byUser ? limit.byUser : limit.byIp, byUser ? userName : ip, now);
+        if (wait > 0) {
+            (byUser ? limit.userRejected : limit.ipRejected).increment();
+        }
+        return wait;
+    }
+
+    @Scheduled(fixedDelayString = "${app.ratelimit.eviction-interval:PT1M}")
+    public void evictFullBuckets() {
+        evictFullBuckets(System.nanoTime());
+    }
+
+    void evictFullBuckets(long now) {
+        for (Limit limit : limits.values()) {
+            limit.byUser.values().removeIf(bucket -> bucket.get() - now <= 0);
+            limit.byIp.values().removeIf(bucket -> bucket.get() - now <= 0);
+        }
+    }
+
+    private static boolean startsWithSegment(String path, int offset, String prefix) {
+        int end = offset + prefix.length();
+        return path.startsWith(prefix, offset) && (path.length() == end || path.charAt(end) == '/');
+    }
+
+    private static double bucketCount(Map<EndpointGroup, Limit> limits) {
+        return limits.values().stream().mapToInt(limit -> limit.byUser.size() + limit.byIp.size()).sum();
+    }
+
+    private static final class Limit {
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final Map<String, AtomicLong> byUser = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> byIp = new ConcurrentHashMap<>();
+        private final Counter userRejected;
+        private final Counter ipRejected;
+
+        Limit(EndpointGroup group, int capacity, Duration period, MeterRegistry meterRegistry) {
+            if (capacity < 1 || period.isZero() || period.isNegative()) {
+                throw new IllegalArgumentException("Rate limit for " + group.tag + " must allow at least one request");
+            }
+            this.intervalNanos = Math.max(1, period.toNanos() / capacity);
+            // A full bucket admits capacity requests at once: the first is free, the rest borrow ahead.
+            this.burstNanos = intervalNanos * (capacity - 1);
+            this.userRejected = Counter.builder("http.ratelimit.rejected")
+                    .tag("group", group.tag).tag("key", "user").register(meterRegistry);
+            this.ipRejected = Counter.builder("http.ratelimit.rejected")
+                    .tag("group", group.tag).tag("key", "ip").register(meterRegistry);
+        }
+
+        long acquire(Map<String, AtomicLong> buckets, String key, long now) {
+            AtomicLong bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+            }
+            while (true) {
+                long fullAt = bucket.get();
+                long start = fullAt - now > 0 ? fullAt : now;
+                long wait = start - now - burstNanos;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (bucket.compareAndSet(fullAt, start + intervalNanos)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
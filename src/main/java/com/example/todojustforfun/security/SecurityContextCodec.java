@@ -0,0 +1,62 @@
+package com.example.todojustforfun.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary form of an authenticated principal for the session table:
+ * a version byte, the username and the authority names. Credentials and
+ * UserDetails are never stored; a decoded token carries the username as principal.
+ */
+final class SecurityContextCodec {
+    private static final byte VERSION = 1;
+
+    private SecurityContextCodec() {
+    }
+
+    static byte[] encode(Authentication authentication) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(authentication.getName());
+            out.writeShort(authentication.getAuthorities().size());
+            for (GrantedAuthority authority : authentication.getAuthorities()) {
+                out.writeUTF(authority.getAuthority());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns null for payloads written by an unknown version, which callers treat as no session.
+     */
+    static Authentication decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readByte() != VERSION) {
+                return null;
+            }
+            String name = in.readUTF();
+            int count = in.readShort();
+            List<GrantedAuthority> authorities = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                authorities.add(new SimpleGrantedAuthority(in.readUTF()));
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(name, null, authorities);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
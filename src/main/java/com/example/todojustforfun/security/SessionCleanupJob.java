@@ -0,0 +1,38 @@
+package com.example.todojustforfun.security;
+
+import com.example.todojustforfun.repositories.UserSessionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Deletes expired sessions in bounded batches so cleanup never holds long locks
+ * on user_sessions. Runs on every node; concurrent runs just find less to delete.
+ */
+@Component
+public class SessionCleanupJob {
+    private final UserSessionRepository userSessionRepository;
+    private final int batchSize;
+
+    public SessionCleanupJob(
+            UserSessionRepository userSessionRepository,
+            @Value("${app.session.cleanup.batch-size:1000}") int batchSize
+    ) {
+        this.userSessionRepository = userSessionRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.session.cleanup.interval:PT5M}")
+    public int deleteExpired() {
+        Instant now = Instant.now();
+        int deleted = 0;
+        int batch;
+        do {
+            batch = userSessionRepository.deleteExpiredBatch(now, batchSize);
+            deleted += batch;
+        } while (batch == batchSize);
+        return deleted;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.todojustforfun.security;
+
+import com.example.todojustforfun.models.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserCacheInvalidationListener {
+    private final PrincipalCache principalCache;
+
+    public UserCacheInvalidationListener(PrincipalCache principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        principalCache.evict(user.getEmail());
+    }
+}
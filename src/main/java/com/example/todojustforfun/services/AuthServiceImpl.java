@@ -5,6 +5,7 @@ import com.example.todojustforfun.dto.RegisterRequest;
 import com.example.todojustforfun.dto.UserResponse;
 import com.example.todojustforfun.models.User;
 import com.example.todojustforfun.repositories.UserRepository;
+import com.example.todojustforfun.security.PrincipalCache;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -19,11 +20,18 @@ public class AuthServiceImpl implements AuthService {
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
-    public AuthServiceImpl(AuthenticationManager authenticationManager, UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public AuthServiceImpl(
+            AuthenticationManager authenticationManager,
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            PrincipalCache principalCache
+    ) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -55,11 +63,8 @@ public class AuthServiceImpl implements AuthService {
             return null;
         }
 
-        String email = authentication.getName();
-
-        User user = userRepository.findByEmail(email)
+        return principalCache.get(authentication.getName(), email -> userRepository.findByEmail(email)
+                        .map(user -> new UserResponse(user.getId(), user.getEmail(), user.getCreatedAt())))
                 .orElseThrow(() -> new RuntimeException("User not found"));
-
-        return new UserResponse(user.getId(), user.getEmail(), user.getCreatedAt());
     }
 }
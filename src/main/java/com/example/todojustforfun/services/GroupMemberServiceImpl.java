@@ -1,10 +1,14 @@
 package com.example.todojustforfun.services;
 
+import com.example.todojustforfun.cache.GroupSummaryCache;
 import com.example.todojustforfun.models.Group;
 import com.example.todojustforfun.models.GroupMember;
 import com.example.todojustforfun.repositories.GroupMemberRepository;
 import com.example.todojustforfun.repositories.GroupRepository;
 import com.example.todojustforfun.repositories.UserRepository;
+import com.example.todojustforfun.security.GroupAccessCache;
+import com.example.todojustforfun.stream.GroupChangeStream;
+import com.example.todojustforfun.transaction.AfterCommit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,25 +21,29 @@ public class GroupMemberServiceImpl implements GroupMemberService {
     private final GroupRepository groupRepository;
     private final GroupMemberRepository groupMemberRepository;
     private final UserRepository userRepository;
+    private final GroupAccessCache groupAccessCache;
+    private final GroupChangeStream groupChangeStream;
+    private final GroupSummaryCache groupSummaryCache;
 
     public GroupMemberServiceImpl(
             GroupRepository groupRepository,
             GroupMemberRepository groupMemberRepository,
-            UserRepository userRepository
+            UserRepository userRepository,
+            GroupAccessCache groupAccessCache,
+            GroupChangeStream groupChangeStream,
+            GroupSummaryCache groupSummaryCache
     ) {
         this.groupRepository = groupRepository;
         this.groupMemberRepository = groupMemberRepository;
         this.userRepository = userRepository;
+        this.groupAccessCache = groupAccessCache;
+        this.groupChangeStream = groupChangeStream;
+        this.groupSummaryCache = groupSummaryCache;
     }
 
     @Override
     public List<GroupMember> listMembers(Long groupId, Long requesterId) {
-        Group group = groupRepository.findById(groupId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found"));
-
-        if (!group.getOwnerId().equals(requesterId)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only group owners can manage membership");
-        }
+        ensureOwner(groupId, requesterId);
 
         return groupMemberRepository.findAllByGroupId(groupId);
     }
@@ -46,51 +54,59 @@ public class GroupMemberServiceImpl implements GroupMemberService {
         Group group = groupRepository.findByJoinCode(joinCode)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found"));
 
-        return groupMemberRepository.findByGroupIdAndUserId(group.getId(), userId)
+        GroupMember member = groupMemberRepository.findByGroupIdAndUserId(group.getId(), userId)
                 .orElseGet(() -> {
-                    GroupMember member = new GroupMember();
-                    member.setGroupId(group.getId());
-                    member.setUserId(userId);
-                    return groupMemberRepository.save(member);
+                    GroupMember created = new GroupMember();
+                    created.setGroupId(group.getId());
+                    created.setUserId(userId);
+                    return groupMemberRepository.save(created);
                 });
+        groupAccessCache.memberAdded(group.getId(), userId);
+        groupSummaryCache.membershipChanged(group.getId(), userId);
+        return member;
     }
 
     @Override
     @Transactional
     public GroupMember addMember(Long groupId, Long userId, Long requesterId) {
-        Group group = groupRepository.findById(groupId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found"));
-
-        if (!group.getOwnerId().equals(requesterId)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only group owners can manage membership");
-        }
+        ensureOwner(groupId, requesterId);
 
         userRepository.findById(userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
-        return groupMemberRepository.findByGroupIdAndUserId(groupId, userId)
+        GroupMember member = groupMemberRepository.findByGroupIdAndUserId(groupId, userId)
                 .orElseGet(() -> {
-                    GroupMember member = new GroupMember();
-                    member.setGroupId(groupId);
-                    member.setUserId(userId);
-                    return groupMemberRepository.save(member);
+                    GroupMember created = new GroupMember();
+                    created.setGroupId(groupId);
+                    created.setUserId(userId);
+                    return groupMemberRepository.save(created);
                 });
+        groupAccessCache.memberAdded(groupId, userId);
+        groupSummaryCache.membershipChanged(groupId, userId);
+        return member;
     }
 
     @Override
     @Transactional
     public void removeMember(Long groupId, Long userId, Long requesterId) {
-        Group group = groupRepository.findById(groupId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found"));
-
-        if (!group.getOwnerId().equals(requesterId)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only group owners can manage membership");
-        }
+        ensureOwner(groupId, requesterId);
 
         if (!groupMemberRepository.existsByGroupIdAndUserId(groupId, userId)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Group member not found");
         }
 
         groupMemberRepository.deleteByGroupIdAndUserId(groupId, userId);
+        groupAccessCache.memberRemoved(groupId, userId);
+        groupSummaryCache.membershipChanged(groupId, userId);
+        AfterCommit.run(() -> groupChangeStream.disconnect(groupId, userId));
+    }
+
+    private void ensureOwner(Long groupId, Long requesterId) {
+        Long ownerId = groupAccessCache.ownerOf(groupId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found"));
+
+        if (!ownerId.equals(requesterId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only group owners can manage membership");
+        }
     }
 }
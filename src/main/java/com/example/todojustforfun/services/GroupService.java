@@ -1,5 +1,6 @@
 package com.example.todojustforfun.services;
 
+import com.example.todojustforfun.dto.GroupSummaryPageResponse;
 import com.example.todojustforfun.models.Group;
 
 import java.util.List;
@@ -9,5 +10,7 @@ public interface GroupService {
 
     List<Group> listGroupsForUser(Long userId);
 
+    GroupSummaryPageResponse listGroupSummaries(Long userId, String cursor, int limit);
+
     Group getGroupDetails(Long groupId, Long userId);
 }
@@ -1,27 +1,50 @@
 package com.example.todojustforfun.services;
 
+import com.example.todojustforfun.cache.GroupSummaryCache;
+import com.example.todojustforfun.database.ReplicaRead;
+import com.example.todojustforfun.dto.GroupSummaryPageResponse;
+import com.example.todojustforfun.dto.GroupSummaryResponse;
+import com.example.todojustforfun.joincode.JoinCodePool;
 import com.example.todojustforfun.models.Group;
 import com.example.todojustforfun.models.GroupMember;
+import com.example.todojustforfun.pagination.ScrollCursor;
 import com.example.todojustforfun.repositories.GroupMemberRepository;
 import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.security.GroupAccessCache;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 
 @Service
 public class GroupServiceImpl implements GroupService {
-    private static final int JOIN_CODE_LENGTH = 10;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final String ID_KEY = "id";
 
     private final GroupRepository groupRepository;
     private final GroupMemberRepository groupMemberRepository;
-
-    public GroupServiceImpl(GroupRepository groupRepository, GroupMemberRepository groupMemberRepository) {
+    private final GroupAccessCache groupAccessCache;
+    private final GroupSummaryCache groupSummaryCache;
+    private final JoinCodePool joinCodePool;
+
+    public GroupServiceImpl(
+            GroupRepository groupRepository,
+            GroupMemberRepository groupMemberRepository,
+            GroupAccessCache groupAccessCache,
+            GroupSummaryCache groupSummaryCache,
+            JoinCodePool joinCodePool
+    ) {
         this.groupRepository = groupRepository;
         this.groupMemberRepository = groupMemberRepository;
+        this.groupAccessCache = groupAccessCache;
+        this.groupSummaryCache = groupSummaryCache;
+        this.joinCodePool = joinCodePool;
     }
 
     @Override
@@ -34,7 +57,7 @@ public class GroupServiceImpl implements GroupService {
         Group group = new Group();
         group.setName(name.trim());
         group.setOwnerId(ownerId);
-        group.setJoinCode(generateJoinCode());
+        group.setJoinCode(joinCodePool.next());
 
         Group saved = groupRepository.save(group);
 
@@ -42,11 +65,14 @@ public class GroupServiceImpl implements GroupService {
         ownerMember.setGroupId(saved.getId());
         ownerMember.setUserId(ownerId);
         groupMemberRepository.save(ownerMember);
+        groupAccessCache.groupCreated(saved.getId(), ownerId);
+        groupSummaryCache.membershipChanged(saved.getId(), ownerId);
 
         return saved;
     }
 
     @Override
+    @ReplicaRead
     public List<Group> listGroupsForUser(Long userId) {
         List<Long> groupIds = groupMemberRepository.findAllByUserId(userId)
                 .stream()
@@ -60,30 +86,53 @@ public class GroupServiceImpl implements GroupService {
         return groupRepository.findAllById(groupIds);
     }
 
+    /**
+     * Read from the primary rather than a replica: the page is cached, and a lagging replica
+     * could refill the cache with counts from before an eviction.
+     */
+    @Override
+    public GroupSummaryPageResponse listGroupSummaries(Long userId, String cursor, int limit) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be positive");
+        }
+        long afterId = afterId(ScrollCursor.decode(cursor));
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+
+        return groupSummaryCache.get(userId, afterId, pageSize, () -> {
+            // One extra row tells whether another page follows.
+            List<GroupSummaryResponse> rows = groupRepository.findSummariesForUser(userId, afterId, Limit.of(pageSize + 1));
+            if (rows.size() <= pageSize) {
+                return new GroupSummaryPageResponse(rows, null);
+            }
+            List<GroupSummaryResponse> page = rows.subList(0, pageSize);
+            String nextCursor = ScrollCursor.encode(ScrollPosition.forward(Map.of(ID_KEY, page.getLast().id())));
+            return new GroupSummaryPageResponse(List.copyOf(page), nextCursor);
+        });
+    }
+
     @Override
     public Group getGroupDetails(Long groupId, Long userId) {
-        Group group = groupRepository.findById(groupId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found"));
+        if (groupAccessCache.ownerOf(groupId).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found");
+        }
 
-        if (!groupMemberRepository.existsByGroupIdAndUserId(groupId, userId)) {
+        if (!groupAccessCache.isMember(groupId, userId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "User is not a group member");
         }
 
-        return group;
+        return groupRepository.findById(groupId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found"));
     }
 
-    private String generateJoinCode() {
-        for (int attempt = 0; attempt < 10; attempt++) {
-            String candidate = UUID.randomUUID()
-                    .toString()
-                    .replace("-", "")
-                    .substring(0, JOIN_CODE_LENGTH);
-
-            if (!groupRepository.existsByJoinCode(candidate)) {
-                return candidate;
+    private static long afterId(ScrollPosition position) {
+        if (position instanceof KeysetScrollPosition keyset) {
+            if (keyset.isInitial()) {
+                return 0;
+            }
+            if (keyset.getKeys().get(ID_KEY) instanceof Long id) {
+                return id;
             }
         }
-
-        throw new IllegalStateException("Unable to generate join code");
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
     }
 }
@@ -1,14 +1,26 @@
 package com.example.todojustforfun.services;
 
+import com.example.todojustforfun.dto.TodoChangesResponse;
+import com.example.todojustforfun.dto.TodoPageResponse;
+import com.example.todojustforfun.dto.TodoStatsResponse;
 import com.example.todojustforfun.models.GroupTodoShare;
-import com.example.todojustforfun.models.Todo;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 public interface GroupTodoShareService {
     GroupTodoShare shareTodo(Long groupId, Long todoId, Long requesterId);
 
     void unshareTodo(Long groupId, Long todoId, Long requesterId);
 
-    List<Todo> listSharedTodos(Long groupId, Long requesterId, Long ownerId);
+    String getSharedTodosETag(Long groupId, Long requesterId, Object... query);
+
+    SseEmitter subscribe(Long groupId, Long requesterId, String lastEventId);
+
+    TodoChangesResponse getSharedTodoChanges(Long groupId, Long requesterId, String since, int limit);
+
+    TodoStatsResponse getStats(Long groupId, Long requesterId);
+
+    TodoPageResponse listSharedTodos(Long groupId, Long requesterId, Long ownerId, String sort, String cursor, int limit);
+
+    TodoPageResponse listSharedTodos(
+            Long groupId, Long requesterId, Long ownerId, String sort, String cursor, int limit, boolean includeArchived);
 }
@@ -1,35 +1,85 @@
 package com.example.todojustforfun.services;
 
+import com.example.todojustforfun.database.ReplicaRead;
+import com.example.todojustforfun.dto.GroupTodoChangeEvent;
+import com.example.todojustforfun.dto.TodoChangesResponse;
+import com.example.todojustforfun.dto.TodoPageResponse;
+import com.example.todojustforfun.dto.TodoResponse;
+import com.example.todojustforfun.dto.TodoStatsResponse;
+import com.example.todojustforfun.etag.ContentVersions;
+import com.example.todojustforfun.mapper.TodoMapper;
 import com.example.todojustforfun.models.GroupTodoShare;
+import com.example.todojustforfun.models.GroupTodoTombstone;
+import com.example.todojustforfun.models.StoredTodo;
 import com.example.todojustforfun.models.Todo;
-import com.example.todojustforfun.repositories.GroupMemberRepository;
-import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.pagination.ScrollCursor;
 import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.GroupTodoTombstoneRepository;
+import com.example.todojustforfun.repositories.StoredTodoRepository;
 import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.security.GroupAccessCache;
+import com.example.todojustforfun.stats.TodoStats;
+import com.example.todojustforfun.stream.GroupChangeStream;
+import com.example.todojustforfun.sync.ChangeFeed;
+import com.example.todojustforfun.sync.SyncCursor;
+import com.example.todojustforfun.transaction.AfterCommit;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class GroupTodoShareServiceImpl implements GroupTodoShareService {
-    private final GroupRepository groupRepository;
-    private final GroupMemberRepository groupMemberRepository;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final String ID_KEY = "id";
+    private static final String CREATED_AT_KEY = "createdAt";
+    private static final String DUE_DATE_KEY = "dueDate";
+
     private final GroupTodoShareRepository groupTodoShareRepository;
     private final TodoRepository todoRepository;
+    private final GroupAccessCache groupAccessCache;
+    private final ContentVersions contentVersions;
+    private final GroupChangeStream groupChangeStream;
+    private final TodoMapper todoMapper;
+    private final GroupTodoTombstoneRepository groupTodoTombstoneRepository;
+    private final ChangeFeed changeFeed;
+    private final StoredTodoRepository storedTodoRepository;
+    private final TodoStats todoStats;
 
     public GroupTodoShareServiceImpl(
-            GroupRepository groupRepository,
-            GroupMemberRepository groupMemberRepository,
             GroupTodoShareRepository groupTodoShareRepository,
-            TodoRepository todoRepository
+            TodoRepository todoRepository,
+            GroupAccessCache groupAccessCache,
+            ContentVersions contentVersions,
+            GroupChangeStream groupChangeStream,
+            TodoMapper todoMapper,
+            GroupTodoTombstoneRepository groupTodoTombstoneRepository,
+            ChangeFeed changeFeed,
+            StoredTodoRepository storedTodoRepository,
+            TodoStats todoStats
     ) {
-        this.groupRepository = groupRepository;
-        this.groupMemberRepository = groupMemberRepository;
         this.groupTodoShareRepository = groupTodoShareRepository;
         this.todoRepository = todoRepository;
+        this.groupAccessCache = groupAccessCache;
+        this.contentVersions = contentVersions;
+        this.groupChangeStream = groupChangeStream;
+        this.todoMapper = todoMapper;
+        this.groupTodoTombstoneRepository = groupTodoTombstoneRepository;
+        this.changeFeed = changeFeed;
+        this.storedTodoRepository = storedTodoRepository;
+        this.todoStats = todoStats;
     }
 
     @Override
@@ -50,6 +100,9 @@ public class GroupTodoShareServiceImpl implements GroupTodoShareService {
                     GroupTodoShare share = new GroupTodoShare();
                     share.setGroupId(groupId);
                     share.setTodoId(todoId);
+                    share.setChangeSeq(contentVersions.groupSharesChanged(groupId));
+                    todoStats.todoShared(todo, groupId, !groupTodoShareRepository.existsByTodoId(todoId));
+                    publishAfterCommit(GroupTodoChangeEvent.Type.SHARED, groupId, todoId, todoMapper.toResponse(todo));
                     return groupTodoShareRepository.save(share);
                 });
     }
@@ -60,49 +113,178 @@ public class GroupTodoShareServiceImpl implements GroupTodoShareService {
         ensureGroupExists(groupId);
         ensureMember(groupId, requesterId);
 
-        Todo todo = todoRepository.findById(todoId)
+        // Archived todos keep their shares, so they can still be unshared.
+        StoredTodo todo = storedTodoRepository.findById(todoId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Todo not found"));
 
         if (!todo.getUserId().equals(requesterId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only todo owners can unshare");
         }
 
-        groupTodoShareRepository.deleteByGroupIdAndTodoId(groupId, todoId);
+        if (groupTodoShareRepository.deleteByGroupIdAndTodoId(groupId, todoId) > 0) {
+            long changeSeq = contentVersions.groupSharesChanged(groupId);
+            groupTodoTombstoneRepository.save(new GroupTodoTombstone(null, groupId, todoId, changeSeq, null));
+            // Archived todos are already out of the stats.
+            if (!todo.isArchived()) {
+                todoStats.todoUnshared(todo.getUserId(), Boolean.TRUE.equals(todo.getCompleted()), groupId,
+                        !groupTodoShareRepository.existsByTodoId(todoId));
+            }
+            publishAfterCommit(GroupTodoChangeEvent.Type.UNSHARED, groupId, todoId, null);
+        }
+    }
+
+    @Override
+    public SseEmitter subscribe(Long groupId, Long requesterId, String lastEventId) {
+        ensureGroupExists(groupId);
+        ensureMember(groupId, requesterId);
+        return groupChangeStream.subscribe(groupId, requesterId, lastEventId);
+    }
+
+    @Override
+    @ReplicaRead
+    public String getSharedTodosETag(Long groupId, Long requesterId, Object... query) {
+        ensureGroupExists(groupId);
+        ensureMember(groupId, requesterId);
+
+        long version = contentVersions.groupVersion(groupId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found"));
+        return ContentVersions.etag("group-todos", groupId, version, query);
     }
 
     @Override
-    public List<Todo> listSharedTodos(Long groupId, Long requesterId, Long ownerId) {
+    public TodoChangesResponse getSharedTodoChanges(Long groupId, Long requesterId, String since, int limit) {
         ensureGroupExists(groupId);
         ensureMember(groupId, requesterId);
 
-        List<Long> todoIds = groupTodoShareRepository.findAllByGroupId(groupId)
+        Instant now = Instant.now();
+        SyncCursor from = changeFeed.resume(since, now);
+        Limit fetchLimit = changeFeed.fetchLimit(limit);
+        long upTo = contentVersions.groupVersion(groupId).orElse(0L);
+
+        List<GroupTodoShare> shares = groupTodoShareRepository
+                .findChangedSince(groupId, from.changeSeq(), from.todoId(), upTo, fetchLimit);
+        Map<Long, StoredTodo> todos = storedTodoRepository
+                .findAllByIdIn(shares.stream().map(GroupTodoShare::getTodoId).toList())
                 .stream()
-                .map(GroupTodoShare::getTodoId)
+                .collect(Collectors.toMap(StoredTodo::getId, Function.identity()));
+        List<ChangeFeed.Change> changed = shares.stream()
+                .map(share -> new ChangeFeed.Change(
+                        share.getChangeSeq(), share.getTodoId(), todoMapper.toResponse(todos.get(share.getTodoId()))))
                 .toList();
+        List<ChangeFeed.Change> removed = from.isInitial() ? List.of() : groupTodoTombstoneRepository
+                .findChangedSince(groupId, from.changeSeq(), from.todoId(), upTo, fetchLimit)
+                .stream()
+                .map(tombstone -> new ChangeFeed.Change(tombstone.getChangeSeq(), tombstone.getTodoId(), null))
+                .toList();
+        return changeFeed.page(from, now, changed, removed, limit);
+    }
 
-        if (todoIds.isEmpty()) {
-            return List.of();
+    @Override
+    @ReplicaRead
+    public TodoStatsResponse getStats(Long groupId, Long requesterId) {
+        ensureGroupExists(groupId);
+        ensureMember(groupId, requesterId);
+        return todoStats.groupStats(groupId);
+    }
+
+    @Override
+    @ReplicaRead
+    public TodoPageResponse listSharedTodos(Long groupId, Long requesterId, Long ownerId, String sort, String cursor, int limit) {
+        return listSharedTodos(groupId, requesterId, ownerId, sort, cursor, limit, false);
+    }
+
+    @Override
+    @ReplicaRead
+    public TodoPageResponse listSharedTodos(
+            Long groupId, Long requesterId, Long ownerId, String sort, String cursor, int limit, boolean includeArchived) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be positive");
         }
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        Map<String, Object> after = ScrollCursor.decode(cursor).getKeys();
+        Long afterId = cursorKey(after, ID_KEY, Long.class);
+        // One extra row tells whether another page follows.
+        Limit fetchLimit = Limit.of(pageSize + 1);
 
-        List<Todo> todos = todoRepository.findAllById(todoIds);
+        String sortKey = sort == null ? CREATED_AT_KEY : sort;
+        List<TodoResponse> rows = switch (sortKey) {
+            case CREATED_AT_KEY -> {
+                Instant afterCreatedAt = cursorKey(after, CREATED_AT_KEY, Instant.class);
+                ensureCursorKeys(after, afterId != null && afterCreatedAt != null, CREATED_AT_KEY);
+                yield includeArchived
+                        ? groupTodoShareRepository.findSharedTodosIncludingArchivedByCreatedAt(
+                                groupId, requesterId, ownerId, afterCreatedAt, afterId, fetchLimit)
+                        : groupTodoShareRepository.findSharedTodosByCreatedAt(
+                                groupId, requesterId, ownerId, afterCreatedAt, afterId, fetchLimit);
+            }
+            case DUE_DATE_KEY -> {
+                OffsetDateTime afterDueDate = cursorKey(after, DUE_DATE_KEY, OffsetDateTime.class);
+                ensureCursorKeys(after, afterId != null, DUE_DATE_KEY);
+                yield includeArchived
+                        ? groupTodoShareRepository.findSharedTodosIncludingArchivedByDueDate(
+                                groupId, requesterId, ownerId, afterDueDate, afterId, fetchLimit)
+                        : groupTodoShareRepository.findSharedTodosByDueDate(
+                                groupId, requesterId, ownerId, afterDueDate, afterId, fetchLimit);
+            }
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort: " + sort);
+        };
 
-        if (ownerId == null) {
-            return todos;
+        // The query folds the membership check in, so an empty page is the only case
+        // that needs the explicit checks to tell "nothing shared" from 404/403.
+        if (rows.isEmpty()) {
+            ensureGroupExists(groupId);
+            ensureMember(groupId, requesterId);
+        }
+        if (rows.size() <= pageSize) {
+            return new TodoPageResponse(rows, null);
         }
 
-        return todos.stream()
-                .filter(todo -> ownerId.equals(todo.getUserId()))
-                .toList();
+        List<TodoResponse> page = rows.subList(0, pageSize);
+        TodoResponse last = page.getLast();
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if (sortKey.equals(CREATED_AT_KEY)) {
+            keys.put(CREATED_AT_KEY, last.createdAt());
+        } else if (last.dueDate() != null) {
+            // Undated todos sort last, so a cursor without a due date continues among them.
+            keys.put(DUE_DATE_KEY, last.dueDate());
+        }
+        keys.put(ID_KEY, last.id());
+        return new TodoPageResponse(List.copyOf(page), ScrollCursor.encode(ScrollPosition.forward(keys)));
+    }
+
+    private static <T> T cursorKey(Map<String, Object> keys, String name, Class<T> type) {
+        Object value = keys.get(name);
+        if (value != null && !type.isInstance(value)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        return type.cast(value);
+    }
+
+    /**
+     * Rejects cursors issued for the other sort, or missing the keys this sort continues after.
+     */
+    private static void ensureCursorKeys(Map<String, Object> keys, boolean complete, String sortKey) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (!complete || !Set.of(sortKey, ID_KEY).containsAll(keys.keySet())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    private void publishAfterCommit(GroupTodoChangeEvent.Type type, Long groupId, Long todoId, TodoResponse todo) {
+        GroupTodoChangeEvent event = new GroupTodoChangeEvent(type, groupId, todoId, todo, Instant.now());
+        AfterCommit.run(() -> groupChangeStream.publish(event));
     }
 
     private void ensureGroupExists(Long groupId) {
-        if (!groupRepository.existsById(groupId)) {
+        if (groupAccessCache.ownerOf(groupId).isEmpty()) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found");
         }
     }
 
     private void ensureMember(Long groupId, Long userId) {
-        if (!groupMemberRepository.existsByGroupIdAndUserId(groupId, userId)) {
+        if (!groupAccessCache.isMember(groupId, userId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "User is not a group member");
         }
     }
@@ -1,19 +1,46 @@
 package com.example.todojustforfun.services;
 
+import com.example.todojustforfun.dto.TodoBulkResponse;
+import com.example.todojustforfun.dto.TodoBulkUpdateItem;
+import com.example.todojustforfun.dto.TodoChangesResponse;
+import com.example.todojustforfun.dto.TodoPageResponse;
 import com.example.todojustforfun.dto.TodoRequest;
 import com.example.todojustforfun.dto.TodoResponse;
+import com.example.todojustforfun.dto.TodoStatsResponse;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TodoService {
-    List<TodoResponse> getAllTodos(Long userId);
+    TodoPageResponse getAllTodos(Long userId, String cursor, int limit);
 
-    List<TodoResponse> getAllTodosByTitle(String title, Long userId);
+    TodoPageResponse getAllTodos(Long userId, String cursor, int limit, boolean includeArchived);
 
-    List<TodoResponse> getAllTodosByCompleted(Boolean completed, Long userId);
+    void streamAllTodos(Long userId, Consumer<TodoResponse> consumer);
+
+    String getTodosETag(Long userId, Object... query);
+
+    TodoPageResponse getAllTodosByTitle(String title, Long userId, int limit);
+
+    TodoPageResponse getAllTodosByCompleted(Boolean completed, Long userId, String cursor, int limit);
+
+    TodoPageResponse getAllTodosByCompleted(Boolean completed, Long userId, String cursor, int limit, boolean includeArchived);
+
+    TodoPageResponse getOverdueTodos(Long userId, String cursor, int limit);
+
+    TodoPageResponse getTodosDueBetween(Long userId, OffsetDateTime from, OffsetDateTime to, String cursor, int limit);
+
+    TodoPageResponse getSortedTodos(Long userId, Boolean completed, String sort, String cursor, int limit);
+
+    TodoStatsResponse getStats(Long userId);
+
+    TodoChangesResponse getChanges(Long userId, String since, int limit);
 
     TodoResponse getTodoById(Long id, Long userId);
 
+    TodoResponse getTodoById(Long id, Long userId, boolean includeArchived);
+
     TodoResponse createTodo(TodoRequest request, Long userId);
 
     TodoResponse updateTodo(Long id, Long userId, TodoRequest request);
@@ -21,4 +48,12 @@ public interface TodoService {
     TodoResponse completeTodo(Long id, Long userId);
 
     void deleteTodoById(Long id, Long userId);
+
+    TodoBulkResponse createTodos(List<TodoRequest> requests, Long userId);
+
+    TodoBulkResponse updateTodos(List<TodoBulkUpdateItem> items, Long userId);
+
+    TodoBulkResponse completeTodos(List<Long> ids, Boolean completed, Long userId);
+
+    TodoBulkResponse deleteTodos(List<Long> ids, Long userId);
 }
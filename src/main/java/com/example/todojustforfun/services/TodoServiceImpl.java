@@ -1,58 +1,246 @@
 package com.example.todojustforfun.services;
 
+import com.example.todojustforfun.database.ReplicaRead;
+import com.example.todojustforfun.dto.GroupTodoChangeEvent;
+import com.example.todojustforfun.dto.TodoBulkItemResult;
+import com.example.todojustforfun.dto.TodoBulkResponse;
+import com.example.todojustforfun.dto.TodoBulkUpdateItem;
+import com.example.todojustforfun.dto.TodoChangesResponse;
+import com.example.todojustforfun.dto.TodoPageResponse;
 import com.example.todojustforfun.dto.TodoRequest;
 import com.example.todojustforfun.dto.TodoResponse;
+import com.example.todojustforfun.dto.TodoStatsResponse;
+import com.example.todojustforfun.etag.ContentVersions;
 import com.example.todojustforfun.mapper.TodoMapper;
+import com.example.todojustforfun.models.GroupTodoShare;
 import com.example.todojustforfun.models.Todo;
+import com.example.todojustforfun.pagination.ScrollCursor;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.GroupTodoTombstoneRepository;
+import com.example.todojustforfun.repositories.StoredTodoRepository;
 import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.repositories.TodoTombstoneRepository;
+import com.example.todojustforfun.search.TodoSearchIndex;
+import com.example.todojustforfun.stats.TodoStats;
+import com.example.todojustforfun.stream.GroupChangeStream;
+import com.example.todojustforfun.sync.ChangeFeed;
+import com.example.todojustforfun.sync.SyncCursor;
+import com.example.todojustforfun.transaction.AfterCommit;
+import com.example.todojustforfun.validation.TodoValidator;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.function.Predicate;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TodoServiceImpl implements TodoService {
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final String TITLE_UNIQUE_INDEX = "uq_todos_user_title";
 
     private final TodoRepository todoRepository;
     private final TodoMapper todoMapper;
+    private final TodoSearchIndex todoSearchIndex;
+    private final ContentVersions contentVersions;
+    private final GroupTodoShareRepository groupTodoShareRepository;
+    private final GroupChangeStream groupChangeStream;
+    private final TodoTombstoneRepository todoTombstoneRepository;
+    private final GroupTodoTombstoneRepository groupTodoTombstoneRepository;
+    private final ChangeFeed changeFeed;
+    private final StoredTodoRepository storedTodoRepository;
+    private final TodoStats todoStats;
+    private final TodoValidator todoValidator;
 
-    public TodoServiceImpl(TodoRepository todoRepository, TodoMapper todoMapper) {
+    public TodoServiceImpl(
+            TodoRepository todoRepository,
+            TodoMapper todoMapper,
+            TodoSearchIndex todoSearchIndex,
+            ContentVersions contentVersions,
+            GroupTodoShareRepository groupTodoShareRepository,
+            GroupChangeStream groupChangeStream,
+            TodoTombstoneRepository todoTombstoneRepository,
+            GroupTodoTombstoneRepository groupTodoTombstoneRepository,
+            ChangeFeed changeFeed,
+            StoredTodoRepository storedTodoRepository,
+            TodoStats todoStats,
+            TodoValidator todoValidator
+    ) {
         this.todoRepository = todoRepository;
         this.todoMapper = todoMapper;
+        this.todoSearchIndex = todoSearchIndex;
+        this.contentVersions = contentVersions;
+        this.groupTodoShareRepository = groupTodoShareRepository;
+        this.groupChangeStream = groupChangeStream;
+        this.todoTombstoneRepository = todoTombstoneRepository;
+        this.groupTodoTombstoneRepository = groupTodoTombstoneRepository;
+        this.changeFeed = changeFeed;
+        this.storedTodoRepository = storedTodoRepository;
+        this.todoStats = todoStats;
+        this.todoValidator = todoValidator;
     }
 
     @Override
-    public List<TodoResponse> getAllTodos(Long userId) {
-        return todoRepository.findAllByUserId(userId)
-                .stream()
-                .map(todoMapper::toResponse)
-                .toList();
+    @ReplicaRead
+    public TodoPageResponse getAllTodos(Long userId, String cursor, int limit) {
+        return getAllTodos(userId, cursor, limit, false);
     }
 
     @Override
-    public List<TodoResponse> getAllTodosByTitle(String title, Long userId) {
-        return todoRepository.findByUserIdAndTitleIgnoreCaseContaining(userId, title)
-                .stream()
-                .map(todoMapper::toResponse)
-                .toList();
+    @ReplicaRead
+    public TodoPageResponse getAllTodos(Long userId, String cursor, int limit, boolean includeArchived) {
+        if (includeArchived) {
+            return todoMapper.toStoredPageResponse(storedTodoRepository.findByUserIdOrderByCreatedAtDescIdDesc(
+                    userId, ScrollCursor.decode(cursor), pageLimit(limit)));
+        }
+        return todoMapper.toPageResponse(todoRepository.findByUserIdOrderByCreatedAtDescIdDesc(
+                userId, ScrollCursor.decode(cursor), pageLimit(limit)));
+    }
+
+    /**
+     * Hands every live todo to the consumer while the rows are read, so memory does not grow
+     * with the number of todos. The consumer runs inside the read transaction.
+     */
+    @Override
+    @ReplicaRead
+    public void streamAllTodos(Long userId, Consumer<TodoResponse> consumer) {
+        try (Stream<TodoResponse> todos = todoRepository.streamResponsesByUserId(userId)) {
+            todos.forEach(consumer);
+        }
+    }
+
+    @Override
+    @ReplicaRead
+    public String getTodosETag(Long userId, Object... query) {
+        return ContentVersions.etag("todos", userId, contentVersions.userVersion(userId).orElse(0L), query);
     }
 
     @Override
-    public List<TodoResponse> getAllTodosByCompleted(Boolean completed, Long userId) {
-        return todoRepository.findAllByUserIdAndCompleted(userId, completed)
+    @ReplicaRead
+    public TodoPageResponse getAllTodosByTitle(String title, Long userId, int limit) {
+        if (title == null || title.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search title is required");
+        }
+        List<Todo> matches = todoSearchIndex.search(userId, title.trim(), pageLimit(limit).max());
+        return new TodoPageResponse(todoMapper.toResponseList(matches), null);
+    }
+
+    @Override
+    @ReplicaRead
+    public TodoPageResponse getAllTodosByCompleted(Boolean completed, Long userId, String cursor, int limit) {
+        return getAllTodosByCompleted(completed, userId, cursor, limit, false);
+    }
+
+    @Override
+    @ReplicaRead
+    public TodoPageResponse getAllTodosByCompleted(
+            Boolean completed, Long userId, String cursor, int limit, boolean includeArchived) {
+        if (includeArchived) {
+            return todoMapper.toStoredPageResponse(storedTodoRepository.findByUserIdAndCompletedOrderByCreatedAtDescIdDesc(
+                    userId, completed, ScrollCursor.decode(cursor), pageLimit(limit)));
+        }
+        return todoMapper.toPageResponse(todoRepository.findByUserIdAndCompletedOrderByCreatedAtDescIdDesc(
+                userId, completed, ScrollCursor.decode(cursor), pageLimit(limit)));
+    }
+
+    /**
+     * Open todos whose due date has passed, the longest overdue first.
+     */
+    @Override
+    @ReplicaRead
+    public TodoPageResponse getOverdueTodos(Long userId, String cursor, int limit) {
+        return todoMapper.toPageResponse(todoRepository.findByUserIdAndCompletedAndDueDateBeforeOrderByDueDateAscIdAsc(
+                userId, false, OffsetDateTime.now(), ScrollCursor.decode(cursor), pageLimit(limit)));
+    }
+
+    /**
+     * Open todos due from (inclusive) to (exclusive), the soonest first.
+     */
+    @Override
+    @ReplicaRead
+    public TodoPageResponse getTodosDueBetween(Long userId, OffsetDateTime from, OffsetDateTime to, String cursor, int limit) {
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+        return todoMapper.toPageResponse(
+                todoRepository.findByUserIdAndCompletedAndDueDateGreaterThanEqualAndDueDateLessThanOrderByDueDateAscIdAsc(
+                        userId, false, from, to, ScrollCursor.decode(cursor), pageLimit(limit)));
+    }
+
+    /**
+     * createdAt lists the newest first; dueDate lists the soonest first and leaves out todos without one.
+     */
+    @Override
+    @ReplicaRead
+    public TodoPageResponse getSortedTodos(Long userId, Boolean completed, String sort, String cursor, int limit) {
+        ScrollPosition position = ScrollCursor.decode(cursor);
+        return todoMapper.toPageResponse(switch (sort == null ? "createdAt" : sort) {
+            case "createdAt" -> todoRepository.findByUserIdAndCompletedOrderByCreatedAtDescIdDesc(
+                    userId, completed, position, pageLimit(limit));
+            case "dueDate" -> todoRepository.findByUserIdAndCompletedAndDueDateNotNullOrderByDueDateAscIdAsc(
+                    userId, completed, position, pageLimit(limit));
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort: " + sort);
+        });
+    }
+
+    @Override
+    @ReplicaRead
+    public TodoStatsResponse getStats(Long userId) {
+        return todoStats.userStats(userId);
+    }
+
+    @Override
+    public TodoChangesResponse getChanges(Long userId, String since, int limit) {
+        Instant now = Instant.now();
+        SyncCursor from = changeFeed.resume(since, now);
+        Limit fetchLimit = changeFeed.fetchLimit(limit);
+        long upTo = contentVersions.userVersion(userId).orElse(0L);
+
+        List<ChangeFeed.Change> changed = todoRepository
+                .findChangedSince(userId, from.changeSeq(), from.todoId(), upTo, fetchLimit)
                 .stream()
-                .map(todoMapper::toResponse)
+                .map(todo -> new ChangeFeed.Change(todo.getChangeSeq(), todo.getId(), todoMapper.toResponse(todo)))
                 .toList();
+        // An initial sync has nothing to remove on the client, so it skips the tombstones.
+        List<ChangeFeed.Change> removed = from.isInitial() ? List.of() : todoTombstoneRepository
+                .findChangedSince(userId, from.changeSeq(), from.todoId(), upTo, fetchLimit)
+                .stream()
+                .map(tombstone -> new ChangeFeed.Change(tombstone.getChangeSeq(), tombstone.getTodoId(), null))
+                .toList();
+        return changeFeed.page(from, now, changed, removed, limit);
     }
 
     @Override
     public TodoResponse getTodoById(Long id, Long userId) {
+        return getTodoById(id, userId, false);
+    }
+
+    @Override
+    public TodoResponse getTodoById(Long id, Long userId, boolean includeArchived) {
+        if (includeArchived) {
+            return storedTodoRepository.findByIdAndUserId(id, userId)
+                    .map(todoMapper::toResponse)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Todo not found with id: " + id));
+        }
         return todoRepository.findByIdAndUserId(id, userId)
                 .map(todoMapper::toResponse)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Todo not found with id: " + id));
@@ -64,11 +252,12 @@ public class TodoServiceImpl implements TodoService {
         Todo todo = todoMapper.toEntity(request);
         todo.setUserId(userId);
 
-        return validateTodoData(todo)
-                .flatMap(this::checkTitleUniqueness)
-                .map(todoRepository::save)
-                .map(todoMapper::toResponse)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid todo data or title already exists"));
+        Todo validated = todoValidator.validate(todo)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid todo data"));
+        validated.setChangeSeq(contentVersions.todosChanged(userId, List.of()));
+        Todo saved = saveWithUniqueTitle(validated);
+        todoStats.todosAdded(List.of(saved));
+        return todoMapper.toResponse(saved);
     }
 
     @Override
@@ -79,69 +268,351 @@ public class TodoServiceImpl implements TodoService {
         Todo existingTodo = todoRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Todo not found with id: " + id));
 
-        return validateTodoData(todoDetails)
-                .flatMap(validated -> checkTitleUniquenesForUpdate(validated, id))
-                .map(validated -> updateTodoFields(existingTodo, validated))
-                .map(todoRepository::save)
-                .map(todoMapper::toResponse)
+        Todo validated = todoValidator.validate(todoDetails)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid todo data"));
+        todosChanged(userId, List.of(existingTodo), GroupTodoChangeEvent.Type.UPDATED);
+        return todoMapper.toResponse(saveWithUniqueTitle(updateTodoFields(existingTodo, validated)));
     }
 
     @Override
     @Transactional
     public TodoResponse completeTodo(Long id, Long userId) {
-        return todoRepository.findByIdAndUserId(id, userId)
-                .map(todo -> {
-                    var currentStatus = Boolean.TRUE.equals(todo.getCompleted());
-                    todo.setCompleted(!currentStatus);
-                    return todoRepository.save(todo);
-                })
-                .map(todoMapper::toResponse)
+        Todo todo = todoRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Todo not found with id: " + id));
+
+        List<GroupTodoShare> shares = todosChanged(userId, List.of(todo), GroupTodoChangeEvent.Type.COMPLETED);
+        todo.setCompleted(!Boolean.TRUE.equals(todo.getCompleted()));
+        todoStats.completionChanged(List.of(todo), shares);
+        return todoMapper.toResponse(todoRepository.saveAndFlush(todo));
     }
 
     @Override
     @Transactional
     public void deleteTodoById(Long id, Long userId) {
-        Todo todo = todoRepository.findByIdAndUserId(id, userId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Todo not found with id: " + id));
+        Todo todo = todoRepository.findByIdAndUserId(id, userId).orElse(null);
+        if (todo == null) {
+            if (deleteArchived(userId, List.of(id)).isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Todo not found with id: " + id);
+            }
+            return;
+        }
 
+        List<GroupTodoShare> shares = todosChanged(userId, List.of(todo), GroupTodoChangeEvent.Type.DELETED);
+        todoStats.todosRemoved(List.of(todo), shares);
         todoRepository.delete(todo);
     }
 
-    private Optional<Todo> validateTodoData(Todo todo) {
-        Predicate<Todo> hasTitle = t -> t.getTitle() != null && !t.getTitle().trim().isEmpty();
-        Predicate<Todo> hasDescription = t -> t.getDescription() != null && !t.getDescription().trim().isEmpty();
-        Predicate<Todo> dueDateNotPast = t -> {
-            if (t.getDueDate() == null) {
+    @Override
+    @Transactional
+    public TodoBulkResponse createTodos(List<TodoRequest> requests, Long userId) {
+        TodoBulkItemResult[] results = new TodoBulkItemResult[requests.size()];
+        Map<Integer, Todo> pending = new LinkedHashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            Todo todo = todoMapper.toEntity(requests.get(i));
+            todo.setUserId(userId);
+            if (todoValidator.validate(todo).isPresent()) {
+                pending.put(i, todo);
+            } else {
+                results[i] = failure(i, null, HttpStatus.BAD_REQUEST, "Invalid todo data");
+            }
+        }
+
+        Set<String> takenTitles = findByTitles(userId, pending.values())
+                .stream()
+                .map(todo -> titleKey(todo.getTitle()))
+                .collect(Collectors.toCollection(HashSet::new));
+
+        pending.entrySet().removeIf(entry -> {
+            if (!takenTitles.add(titleKey(entry.getValue().getTitle()))) {
+                results[entry.getKey()] = failure(entry.getKey(), null, HttpStatus.CONFLICT, "Title already exists");
                 return true;
             }
-            Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
-            Instant dueInstant = t.getDueDate().toInstant().truncatedTo(ChronoUnit.SECONDS);
-            return !dueInstant.isBefore(now);
-        };
+            return false;
+        });
+
+        if (!pending.isEmpty()) {
+            long changeSeq = contentVersions.todosChanged(userId, List.of());
+            pending.values().forEach(todo -> todo.setChangeSeq(changeSeq));
+        }
+        todoRepository.saveAll(pending.values());
+        flushWithUniqueTitles();
+        todoStats.todosAdded(pending.values());
 
-        return Optional.of(todo)
-                .filter(hasTitle.and(hasDescription).and(dueDateNotPast));
+        pending.forEach((i, todo) -> results[i] = success(i, HttpStatus.CREATED, todo));
+        return toBulkResponse(results);
     }
 
-    private Optional<Todo> checkTitleUniqueness(Todo todo) {
-        return todoRepository.existsByTitleIgnoreCase(todo.getTitle())
-                ? Optional.empty()
-                : Optional.of(todo);
+    @Override
+    @Transactional
+    public TodoBulkResponse updateTodos(List<TodoBulkUpdateItem> items, Long userId) {
+        TodoBulkItemResult[] results = new TodoBulkItemResult[items.size()];
+        Map<Long, Todo> owned = findOwned(items.stream().map(TodoBulkUpdateItem::id).toList(), userId);
+        Map<Integer, Todo> pending = new LinkedHashMap<>();
+        Set<Long> seenIds = new HashSet<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            TodoBulkUpdateItem item = items.get(i);
+            Todo details = new Todo();
+            details.setTitle(item.title());
+            details.setDescription(item.description());
+            details.setDueDate(item.dueDate());
+
+            if (item.id() == null || !owned.containsKey(item.id())) {
+                results[i] = failure(i, item.id(), HttpStatus.NOT_FOUND, "Todo not found with id: " + item.id());
+            } else if (!seenIds.add(item.id())) {
+                results[i] = failure(i, item.id(), HttpStatus.BAD_REQUEST, "Duplicate id in batch");
+            } else if (todoValidator.validate(details).isEmpty()) {
+                results[i] = failure(i, item.id(), HttpStatus.BAD_REQUEST, "Invalid todo data");
+            } else {
+                details.setId(item.id());
+                pending.put(i, details);
+            }
+        }
+
+        Map<String, Long> titleOwners = findByTitles(userId, pending.values())
+                .stream()
+                .collect(Collectors.toMap(todo -> titleKey(todo.getTitle()), Todo::getId, (a, b) -> a, LinkedHashMap::new));
+
+        pending.entrySet().removeIf(entry -> {
+            Todo details = entry.getValue();
+            Long titleOwner = titleOwners.putIfAbsent(titleKey(details.getTitle()), details.getId());
+            if (titleOwner != null && !titleOwner.equals(details.getId())) {
+                results[entry.getKey()] = failure(entry.getKey(), details.getId(), HttpStatus.CONFLICT, "Title already exists");
+                return true;
+            }
+            return false;
+        });
+
+        todosChanged(userId, pending.values().stream().map(details -> owned.get(details.getId())).toList(),
+                GroupTodoChangeEvent.Type.UPDATED);
+        pending.values().forEach(details -> updateTodoFields(owned.get(details.getId()), details));
+        flushWithUniqueTitles();
+
+        pending.forEach((i, details) -> results[i] = success(i, HttpStatus.OK, owned.get(details.getId())));
+        return toBulkResponse(results);
+    }
+
+    @Override
+    @Transactional
+    public TodoBulkResponse completeTodos(List<Long> ids, Boolean completed, Long userId) {
+        TodoBulkItemResult[] results = new TodoBulkItemResult[ids.size()];
+        Map<Long, Todo> owned = findOwned(ids, userId);
+        Map<Integer, Todo> changed = new LinkedHashMap<>();
+        Set<Long> seenIds = new HashSet<>();
+
+        for (int i = 0; i < ids.size(); i++) {
+            Todo todo = owned.get(ids.get(i));
+            if (todo == null) {
+                results[i] = failure(i, ids.get(i), HttpStatus.NOT_FOUND, "Todo not found with id: " + ids.get(i));
+                continue;
+            }
+            if (!seenIds.add(todo.getId())) {
+                results[i] = failure(i, todo.getId(), HttpStatus.BAD_REQUEST, "Duplicate id in batch");
+                continue;
+            }
+            changed.put(i, todo);
+        }
+
+        List<GroupTodoShare> shares = todosChanged(userId, changed.values(), GroupTodoChangeEvent.Type.COMPLETED);
+        List<Todo> flipped = changed.values().stream()
+                .filter(todo -> completed == null || completed != Boolean.TRUE.equals(todo.getCompleted()))
+                .toList();
+        flipped.forEach(todo -> todo.setCompleted(!Boolean.TRUE.equals(todo.getCompleted())));
+        todoStats.completionChanged(flipped, shares);
+        todoRepository.flush();
+
+        changed.forEach((i, todo) -> results[i] = success(i, HttpStatus.OK, todo));
+        return toBulkResponse(results);
+    }
+
+    @Override
+    @Transactional
+    public TodoBulkResponse deleteTodos(List<Long> ids, Long userId) {
+        TodoBulkItemResult[] results = new TodoBulkItemResult[ids.size()];
+        Map<Long, Todo> owned = findOwned(ids, userId);
+        List<Todo> toDelete = new ArrayList<>();
+        Set<Long> seenIds = new HashSet<>();
+
+        Set<Long> archived = deleteArchived(userId, ids.stream()
+                .filter(id -> id != null && !owned.containsKey(id))
+                .toList());
+
+        for (int i = 0; i < ids.size(); i++) {
+            Todo todo = owned.get(ids.get(i));
+            if (todo == null && !archived.contains(ids.get(i))) {
+                results[i] = failure(i, ids.get(i), HttpStatus.NOT_FOUND, "Todo not found with id: " + ids.get(i));
+                continue;
+            }
+            if (!seenIds.add(ids.get(i))) {
+                results[i] = failure(i, ids.get(i), HttpStatus.BAD_REQUEST, "Duplicate id in batch");
+                continue;
+            }
+            if (todo == null) {
+                results[i] = new TodoBulkItemResult(i, ids.get(i), HttpStatus.NO_CONTENT.value(), null, null);
+                continue;
+            }
+            toDelete.add(todo);
+            results[i] = new TodoBulkItemResult(i, todo.getId(), HttpStatus.NO_CONTENT.value(), null, null);
+        }
+
+        List<GroupTodoShare> shares = todosChanged(userId, toDelete, GroupTodoChangeEvent.Type.DELETED);
+        todoStats.todosRemoved(toDelete, shares);
+        todoRepository.deleteAll(toDelete);
+        todoRepository.flush();
+        return toBulkResponse(results);
+    }
+
+    /**
+     * Deletes the user's archived todos among the given ids, with their shares, and tombstones them
+     * like live deletions. Their counters were already taken off when they were archived.
+     *
+     * @return The ids that were archived and are now deleted
+     */
+    private Set<Long> deleteArchived(Long userId, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> archived = new HashSet<>(todoRepository.lockArchivedIds(userId, ids));
+        if (archived.isEmpty()) {
+            return archived;
+        }
+        changed(userId, archived, GroupTodoChangeEvent.Type.DELETED, id -> null);
+        todoRepository.deleteArchivedByIdIn(archived);
+        return archived;
+    }
+
+    private Map<Long, Todo> findOwned(List<Long> ids, Long userId) {
+        List<Long> lookup = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (lookup.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        return todoRepository.findAllByUserIdAndIdIn(userId, lookup)
+                .stream()
+                .collect(Collectors.toMap(Todo::getId, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+    }
+
+    private List<Todo> findByTitles(Long userId, Collection<Todo> todos) {
+        if (todos.isEmpty()) {
+            return List.of();
+        }
+        Set<String> titles = todos.stream().map(todo -> titleKey(todo.getTitle())).collect(Collectors.toSet());
+        return todoRepository.findAllByUserIdAndLowerTitleIn(userId, titles);
+    }
+
+    private void flushWithUniqueTitles() {
+        try {
+            todoRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw translateTitleConflict(e);
+        }
+    }
+
+    private String titleKey(String title) {
+        return title.toLowerCase(Locale.ROOT);
+    }
+
+    private TodoBulkItemResult success(int index, HttpStatus status, Todo todo) {
+        return new TodoBulkItemResult(index, todo.getId(), status.value(), null, todoMapper.toResponse(todo));
+    }
+
+    private TodoBulkItemResult failure(int index, Long id, HttpStatus status, String message) {
+        return new TodoBulkItemResult(index, id, status.value(), message, null);
+    }
+
+    /**
+     * Bumps the owner's and the sharing groups' versions, stamps the todos and their shares with
+     * them for the change feeds and, after commit, pushes one change event per (group, todo) share.
+     * Deleted todos are tombstoned and unshared instead; the caller still deletes the rows.
+     * Call before applying the change: the queries here auto-flush pending changes, which would
+     * bypass the unique-title translation, and stamping first lets the change go out in one UPDATE.
+     *
+     * @return The shares the todos had, for the callers' stats updates
+     */
+    private List<GroupTodoShare> todosChanged(Long userId, Collection<Todo> todos, GroupTodoChangeEvent.Type type) {
+        if (todos.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Todo> byId = todos.stream()
+                .collect(Collectors.toMap(Todo::getId, Function.identity(), (a, b) -> a));
+        return changed(userId, byId.keySet(), type, byId::get);
+    }
+
+    /**
+     * @param todos Looks up the live todo for an id; returns null for archived todos, which can only be deleted
+     */
+    private List<GroupTodoShare> changed(
+            Long userId, Set<Long> ids, GroupTodoChangeEvent.Type type, Function<Long, Todo> todos) {
+        List<GroupTodoShare> shares = groupTodoShareRepository.findAllByTodoIdIn(ids);
+        long changeSeq = contentVersions.todosChanged(
+                userId, shares.stream().map(GroupTodoShare::getGroupId).distinct().toList());
+
+        if (type == GroupTodoChangeEvent.Type.DELETED) {
+            todoTombstoneRepository.insertFor(ids, changeSeq);
+            if (!shares.isEmpty()) {
+                groupTodoTombstoneRepository.insertForSharesOf(ids);
+                groupTodoShareRepository.deleteAllByTodoIdIn(ids);
+            }
+        } else {
+            ids.forEach(id -> todos.apply(id).setChangeSeq(changeSeq));
+            if (!shares.isEmpty()) {
+                groupTodoShareRepository.stampChangeSeq(ids);
+            }
+        }
+        if (shares.isEmpty()) {
+            return shares;
+        }
+
+        // Mapped after commit so the events carry the applied change, updatedAt included.
+        Instant now = Instant.now();
+        AfterCommit.run(() -> shares.forEach(share -> groupChangeStream.publish(new GroupTodoChangeEvent(
+                type,
+                share.getGroupId(),
+                share.getTodoId(),
+                type == GroupTodoChangeEvent.Type.DELETED ? null : todoMapper.toResponse(todos.apply(share.getTodoId())),
+                now))));
+        return shares;
     }
 
-    private Optional<Todo> checkTitleUniquenesForUpdate(Todo todo, Long currentId) {
-        return todoRepository.findByTitleIgnoreCase(todo.getTitle())
-                .filter(existing -> !existing.getId().equals(currentId))
-                .map(existing -> (Todo) null)
-                .or(() -> Optional.of(todo));
+    private TodoBulkResponse toBulkResponse(TodoBulkItemResult[] results) {
+        int succeeded = (int) Arrays.stream(results).filter(result -> result.message() == null).count();
+        return new TodoBulkResponse(succeeded, results.length - succeeded, List.of(results));
+    }
+
+    private Limit pageLimit(int limit) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be positive");
+        }
+        return Limit.of(Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private Todo saveWithUniqueTitle(Todo todo) {
+        try {
+            return todoRepository.saveAndFlush(todo);
+        } catch (DataIntegrityViolationException e) {
+            throw translateTitleConflict(e);
+        }
+    }
+
+    private RuntimeException translateTitleConflict(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        if (message != null && message.toLowerCase(Locale.ROOT).contains(TITLE_UNIQUE_INDEX)) {
+            return new ResponseStatusException(HttpStatus.CONFLICT, "Title already exists");
+        }
+        return e;
     }
 
     private Todo updateTodoFields(Todo existing, Todo updated) {
+        if (!Objects.equals(instant(existing.getDueDate()), instant(updated.getDueDate()))) {
+            todoRepository.clearReminder(existing.getId());
+        }
         existing.setTitle(updated.getTitle());
         existing.setDescription(updated.getDescription());
         existing.setDueDate(updated.getDueDate());
         return existing;
     }
+
+    private static Instant instant(OffsetDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toInstant();
+    }
 }
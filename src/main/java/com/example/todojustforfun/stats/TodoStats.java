@@ -0,0 +1,269 @@
+package com.example.todojustforfun.stats;
+
+import com.example.todojustforfun.cache.GroupSummaryCache;
+import com.example.todojustforfun.dto.TodoCounts;
+import com.example.todojustforfun.dto.TodoStatsResponse;
+import com.example.todojustforfun.models.GroupTodoShare;
+import com.example.todojustforfun.models.GroupTodoStats;
+import com.example.todojustforfun.models.Todo;
+import com.example.todojustforfun.models.UserTodoStats;
+import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.GroupTodoStatsRepository;
+import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.repositories.UserRepository;
+import com.example.todojustforfun.repositories.UserTodoStatsRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user and per-group todo counters in user_todo_stats and group_todo_stats, so the stats
+ * endpoints read one row instead of counting todos. Writers report their changes here inside
+ * their own transaction, so the counters commit or roll back with the change; deltas are applied
+ * to users and then groups, each in id order, so concurrent writers lock counter rows in one order.
+ * Overdue changes with the clock rather than with writes, so it is counted on read from the
+ * due-date indexes instead.
+ */
+@Component
+public class TodoStats {
+    private final UserTodoStatsRepository userTodoStatsRepository;
+    private final GroupTodoStatsRepository groupTodoStatsRepository;
+    private final TodoRepository todoRepository;
+    private final GroupTodoShareRepository groupTodoShareRepository;
+    private final UserRepository userRepository;
+    private final GroupRepository groupRepository;
+    private final GroupSummaryCache groupSummaryCache;
+
+    public TodoStats(
+            UserTodoStatsRepository userTodoStatsRepository,
+            GroupTodoStatsRepository groupTodoStatsRepository,
+            TodoRepository todoRepository,
+            GroupTodoShareRepository groupTodoShareRepository,
+            UserRepository userRepository,
+            GroupRepository groupRepository,
+            GroupSummaryCache groupSummaryCache
+    ) {
+        this.userTodoStatsRepository = userTodoStatsRepository;
+        this.groupTodoStatsRepository = groupTodoStatsRepository;
+        this.todoRepository = todoRepository;
+        this.groupTodoShareRepository = groupTodoShareRepository;
+        this.userRepository = userRepository;
+        this.groupRepository = groupRepository;
+        this.groupSummaryCache = groupSummaryCache;
+    }
+
+    public TodoStatsResponse userStats(Long userId) {
+        long overdue = todoRepository.countByUserIdAndCompletedAndDueDateBefore(userId, false, OffsetDateTime.now());
+        return userTodoStatsRepository.findById(userId)
+                .map(stats -> response(stats.getTotal(), stats.getCompleted(), overdue, stats.getShared()))
+                .orElseGet(() -> response(0, 0, overdue, 0));
+    }
+
+    /**
+     * Every todo a group sees is a shared one, so total and shared are the same.
+     */
+    public TodoStatsResponse groupStats(Long groupId) {
+        long overdue = groupTodoShareRepository.countOverdue(groupId, OffsetDateTime.now());
+        return groupTodoStatsRepository.findById(groupId)
+                .map(stats -> response(stats.getTotal(), stats.getCompleted(), overdue, stats.getTotal()))
+                .orElseGet(() -> response(0, 0, overdue, 0));
+    }
+
+    @Transactional
+    public void todosAdded(Collection<Todo> todos) {
+        Deltas deltas = new Deltas();
+        todos.forEach(todo -> deltas.user(todo.getUserId(), 1, completed(todo), 0));
+        deltas.apply();
+    }
+
+    /**
+     * Todos leaving the live table, deleted or archived, with the shares they had.
+     */
+    @Transactional
+    public void todosRemoved(Collection<Todo> todos, Collection<GroupTodoShare> shares) {
+        Map<Long, Todo> byId = byId(todos);
+        Set<Long> sharedIds = shares.stream().map(GroupTodoShare::getTodoId).collect(Collectors.toSet());
+        Deltas deltas = new Deltas();
+        todos.forEach(todo -> deltas.user(
+                todo.getUserId(), -1, -completed(todo), sharedIds.contains(todo.getId()) ? -1 : 0));
+        shares.stream()
+                .filter(share -> byId.containsKey(share.getTodoId()))
+                .forEach(share -> deltas.group(share.getGroupId(), -1, -completed(byId.get(share.getTodoId()))));
+        deltas.apply();
+    }
+
+    /**
+     * Todos whose completed flag was just flipped, with their shares.
+     */
+    @Transactional
+    public void completionChanged(Collection<Todo> todos, Collection<GroupTodoShare> shares) {
+        Map<Long, Todo> byId = byId(todos);
+        Deltas deltas = new Deltas();
+        todos.forEach(todo -> deltas.user(todo.getUserId(), 0, direction(todo), 0));
+        shares.stream()
+                .filter(share -> byId.containsKey(share.getTodoId()))
+                .forEach(share -> deltas.group(share.getGroupId(), 0, direction(byId.get(share.getTodoId()))));
+        deltas.apply();
+    }
+
+    /**
+     * @param firstShare Whether the todo was not shared with any other group before
+     */
+    @Transactional
+    public void todoShared(Todo todo, Long groupId, boolean firstShare) {
+        Deltas deltas = new Deltas();
+        deltas.user(todo.getUserId(), 0, 0, firstShare ? 1 : 0);
+        deltas.group(groupId, 1, completed(todo));
+        deltas.apply();
+    }
+
+    /**
+     * @param lastShare Whether the todo is no longer shared with any group
+     */
+    @Transactional
+    public void todoUnshared(Long userId, boolean completed, Long groupId, boolean lastShare) {
+        Deltas deltas = new Deltas();
+        deltas.user(userId, 0, 0, lastShare ? -1 : 0);
+        deltas.group(groupId, -1, completed ? -1 : 0);
+        deltas.apply();
+    }
+
+    /**
+     * Recomputes the counters of the next batchSize users after afterId and corrects the ones that drifted.
+     * The counter rows are locked before counting, so a writer that already adjusted them has committed
+     * and is counted, and one that has not waits and applies its delta on top of the corrected value.
+     */
+    @Transactional
+    public Batch reconcileUsers(long afterId, int batchSize) {
+        List<Long> userIds = userRepository.findIdsAfter(afterId, Limit.of(batchSize));
+        if (userIds.isEmpty()) {
+            return new Batch(0, 0, afterId);
+        }
+        userTodoStatsRepository.insertMissing(userIds);
+        List<UserTodoStats> rows = userTodoStatsRepository.findAllByUserIdInOrderByUserId(userIds);
+        Map<Long, TodoCounts> counts = todoRepository.countByUserIdIn(userIds).stream()
+                .collect(Collectors.toMap(TodoCounts::id, Function.identity()));
+
+        int corrected = 0;
+        for (UserTodoStats row : rows) {
+            TodoCounts actual = counts.getOrDefault(row.getUserId(), new TodoCounts(row.getUserId(), 0L, 0L, 0L));
+            if (row.getTotal() != actual.total() || row.getCompleted() != actual.completed()
+                    || row.getShared() != actual.shared()) {
+                row.setTotal(actual.total());
+                row.setCompleted(actual.completed());
+                row.setShared(actual.shared());
+                corrected++;
+            }
+        }
+        return new Batch(userIds.size(), corrected, userIds.getLast());
+    }
+
+    /**
+     * Group counterpart of {@link #reconcileUsers(long, int)}.
+     */
+    @Transactional
+    public Batch reconcileGroups(long afterId, int batchSize) {
+        List<Long> groupIds = groupRepository.findIdsAfter(afterId, Limit.of(batchSize));
+        if (groupIds.isEmpty()) {
+            return new Batch(0, 0, afterId);
+        }
+        groupTodoStatsRepository.insertMissing(groupIds);
+        List<GroupTodoStats> rows = groupTodoStatsRepository.findAllByGroupIdInOrderByGroupId(groupIds);
+        Map<Long, TodoCounts> counts = groupTodoShareRepository.countByGroupIdIn(groupIds).stream()
+                .collect(Collectors.toMap(TodoCounts::id, Function.identity()));
+
+        int corrected = 0;
+        for (GroupTodoStats row : rows) {
+            TodoCounts actual = counts.getOrDefault(row.getGroupId(), new TodoCounts(row.getGroupId(), 0L, 0L, 0L));
+            if (row.getTotal() != actual.total() || row.getCompleted() != actual.completed()) {
+                if (row.getTotal() != actual.total()) {
+                    groupSummaryCache.sharesChanged(row.getGroupId());
+                }
+                row.setTotal(actual.total());
+                row.setCompleted(actual.completed());
+                corrected++;
+            }
+        }
+        return new Batch(groupIds.size(), corrected, groupIds.getLast());
+    }
+
+    private static TodoStatsResponse response(long total, long completed, long overdue, long shared) {
+        return new TodoStatsResponse(total, completed, total - completed, overdue, shared);
+    }
+
+    private static Map<Long, Todo> byId(Collection<Todo> todos) {
+        return todos.stream().collect(Collectors.toMap(Todo::getId, Function.identity(), (a, b) -> a));
+    }
+
+    private static long completed(Todo todo) {
+        return Boolean.TRUE.equals(todo.getCompleted()) ? 1 : 0;
+    }
+
+    private static long direction(Todo todo) {
+        return Boolean.TRUE.equals(todo.getCompleted()) ? 1 : -1;
+    }
+
+    /**
+     * @param scanned   Users or groups read; fewer than the batch size means the run is done
+     * @param corrected Counter rows that had drifted
+     * @param lastId    Keyset position to continue from
+     */
+    public record Batch(int scanned, int corrected, long lastId) {
+    }
+
+    private final class Deltas {
+        private final Map<Long, long[]> users = new TreeMap<>();
+        private final Map<Long, long[]> groups = new TreeMap<>();
+
+        void user(Long userId, long total, long completed, long shared) {
+            long[] delta = users.computeIfAbsent(userId, id -> new long[3]);
+            delta[0] += total;
+            delta[1] += completed;
+            delta[2] += shared;
+        }
+
+        void group(Long groupId, long total, long completed) {
+            long[] delta = groups.computeIfAbsent(groupId, id -> new long[2]);
+            delta[0] += total;
+            delta[1] += completed;
+        }
+
+        /**
+         * Rows are created on a user's or group's first change; the reconciler covers the rest.
+         */
+        void apply() {
+            users.forEach((userId, delta) -> {
+                if (delta[0] == 0 && delta[1] == 0 && delta[2] == 0) {
+                    return;
+                }
+                if (userTodoStatsRepository.adjust(userId, delta[0], delta[1], delta[2]) == 0) {
+                    userTodoStatsRepository.insertMissing(List.of(userId));
+                    userTodoStatsRepository.adjust(userId, delta[0], delta[1], delta[2]);
+                }
+            });
+            groups.forEach((groupId, delta) -> {
+                if (delta[0] == 0 && delta[1] == 0) {
+                    return;
+                }
+                if (groupTodoStatsRepository.adjust(groupId, delta[0], delta[1]) == 0) {
+                    groupTodoStatsRepository.insertMissing(List.of(groupId));
+                    groupTodoStatsRepository.adjust(groupId, delta[0], delta[1]);
+                }
+                // Group summaries show the shared-todo total.
+                if (delta[0] != 0) {
+                    groupSummaryCache.sharesChanged(groupId);
+                }
+            });
+        }
+    }
+}
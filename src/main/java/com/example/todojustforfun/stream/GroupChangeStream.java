@@ -0,0 +1,289 @@
+package com.example.todojustforfun.stream;
+
+import com.example.todojustforfun.dto.GroupTodoChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-group fan-out of shared-todo changes to SSE subscribers.
+ * Connections are servlet-async, so an idle subscriber holds no thread; each one has a bounded
+ * send queue drained on a virtual thread only while it has pending events. A subscriber whose
+ * queue overflows is disconnected and can resume with Last-Event-ID from the per-group replay
+ * buffer. Event ids are "{node epoch}:{sequence}"; an id from another epoch or older than the
+ * buffer gets a "reset" event telling the client to refetch the list. Sequences are node-wide, so
+ * a group's channel can be dropped once it has had no subscribers for the replay TTL and a later
+ * channel for the same group never reuses an id a client may still hold.
+ * Events are per node: changes made on another node are not pushed here.
+ */
+@Component
+public class GroupChangeStream {
+    static final String RESET_EVENT = "reset";
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("group-sse-", 0).factory());
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final int replaySize;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+    private final long replayTtlNanos;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter published;
+    private final Counter slowConsumerEvictions;
+
+    public GroupChangeStream(
+            @Value("${app.sse.replay-size:256}") int replaySize,
+            @Value("${app.sse.queue-capacity:64}") int queueCapacity,
+            @Value("${app.sse.timeout:PT30M}") Duration timeout,
+            @Value("${app.sse.replay-ttl:PT5M}") Duration replayTtl,
+            MeterRegistry meterRegistry
+    ) {
+        this.replaySize = replaySize;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeout.toMillis();
+        this.replayTtlNanos = replayTtl.toNanos();
+        this.published = meterRegistry.counter("sse.events.published");
+        this.slowConsumerEvictions = meterRegistry.counter("sse.evictions", "reason", "slow-consumer");
+        Gauge.builder("sse.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("sse.channels", channels, Map::size).register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long groupId, Long userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        Channel channel;
+        do {
+            channel = channels.computeIfAbsent(groupId, id -> new Channel());
+        } while (!channel.add(subscriber, lastEventId));
+
+        Channel subscribed = channel;
+        emitter.onCompletion(() -> subscribed.remove(subscriber));
+        emitter.onTimeout(() -> subscribed.remove(subscriber));
+        emitter.onError(error -> subscribed.remove(subscriber));
+        return emitter;
+    }
+
+    /**
+     * Pushes an event to the group's subscribers; call after the change has committed.
+     */
+    public void publish(GroupTodoChangeEvent event) {
+        Channel channel = channels.get(event.groupId());
+        if (channel != null) {
+            channel.publish(event);
+            published.increment();
+        }
+    }
+
+    /**
+     * Closes the streams a removed member still has open on the group.
+     */
+    public void disconnect(Long groupId, Long userId) {
+        Channel channel = channels.get(groupId);
+        if (channel != null) {
+            channel.subscribers.stream()
+                    .filter(subscriber -> subscriber.userId.equals(userId))
+                    .forEach(subscriber -> channel.remove(subscriber));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.sse.heartbeat:PT15S}")
+    public void heartbeat() {
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> {
+            if (!subscriber.offer(SseEmitter.event().comment("heartbeat"))) {
+                channel.evictSlow(subscriber);
+            }
+        }));
+    }
+
+    /**
+     * Drops channels that have had no subscribers and no events for the replay TTL; a client
+     * resuming after that gets a reset instead of a replay.
+     */
+    @Scheduled(fixedDelayString = "${app.sse.replay-ttl:PT5M}")
+    public void evictIdleChannels() {
+        long now = System.nanoTime();
+        channels.values().removeIf(channel -> channel.retireIfIdle(now));
+    }
+
+    /**
+     * Completes open streams before the web server's graceful shutdown, which would otherwise
+     * wait on them until its timeout.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void close() {
+        channels.values().forEach(channel -> channel.subscribers.forEach(channel::remove));
+        senders.shutdownNow();
+    }
+
+    private final class Channel {
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final ArrayDeque<Replay> replay = new ArrayDeque<>();
+        /**
+         * Highest sequence this channel can no longer replay: the last one dropped from the
+         * buffer, or the node-wide sequence when the channel was created.
+         */
+        private long replayFloor = sequence.get();
+        private volatile long lastActive = System.nanoTime();
+        private boolean retired;
+
+        /**
+         * @return false if the channel was retired concurrently and the caller must use a new one
+         */
+        synchronized boolean add(Subscriber subscriber, String lastEventId) {
+            if (retired) {
+                return false;
+            }
+            subscribers.add(subscriber);
+            subscriberCount.incrementAndGet();
+            if (lastEventId == null || lastEventId.isBlank()) {
+                return true;
+            }
+
+            long lastSeen = parseSequence(lastEventId);
+            if (lastSeen < replayFloor || lastSeen > sequence.get()) {
+                subscriber.offer(SseEmitter.event().name(RESET_EVENT).data(""));
+                return true;
+            }
+            for (Replay event : replay) {
+                if (event.sequence() > lastSeen) {
+                    subscriber.offer(toSse(event));
+                }
+            }
+            return true;
+        }
+
+        synchronized void publish(GroupTodoChangeEvent event) {
+            Replay entry = new Replay(sequence.incrementAndGet(), event);
+            lastActive = System.nanoTime();
+            replay.addLast(entry);
+            if (replay.size() > replaySize) {
+                replayFloor = replay.removeFirst().sequence();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.offer(toSse(entry))) {
+                    evictSlow(subscriber);
+                }
+            }
+        }
+
+        void evictSlow(Subscriber subscriber) {
+            slowConsumerEvictions.increment();
+            remove(subscriber);
+        }
+
+        void remove(Subscriber subscriber) {
+            if (subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+                lastActive = System.nanoTime();
+                subscriber.close();
+            }
+        }
+
+        synchronized boolean retireIfIdle(long now) {
+            retired = subscribers.isEmpty() && now - lastActive >= replayTtlNanos;
+            return retired;
+        }
+
+        private long parseSequence(String lastEventId) {
+            int separator = lastEventId.indexOf(':');
+            if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+                return -1;
+            }
+            try {
+                return Long.parseLong(lastEventId.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        private SseEmitter.SseEventBuilder toSse(Replay entry) {
+            return SseEmitter.event()
+                    .id(epoch + ":" + entry.sequence())
+                    .name(entry.event().type().name().toLowerCase(Locale.ROOT))
+                    .data(entry.event(), MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private record Replay(long sequence, GroupTodoChangeEvent event) {
+    }
+
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queues without blocking; false means the subscriber is too far behind.
+         */
+        boolean offer(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return true;
+            }
+            if (!pending.offer(event)) {
+                return false;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+            return true;
+        }
+
+        void close() {
+            closed = true;
+            pending.clear();
+            emitter.complete();
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event = pending.poll();
+                if (event == null) {
+                    draining.set(false);
+                    if (pending.isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    closed = true;
+                    pending.clear();
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
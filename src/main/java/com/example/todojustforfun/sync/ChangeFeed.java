@@ -0,0 +1,97 @@
+package com.example.todojustforfun.sync;
+
+import com.example.todojustforfun.dto.TodoChangesResponse;
+import com.example.todojustforfun.dto.TodoResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pages a change feed out of two keyset-ordered sources, live rows and tombstones, both sorted by
+ * (change_seq, todo id). Callers bound both reads by a version they have already seen committed,
+ * so a page never skips a change that commits between the two queries. Cursors older than the
+ * tombstone retention are rejected with 410, since deletions before them may have been pruned.
+ */
+@Component
+public class ChangeFeed {
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final Comparator<Change> FEED_ORDER =
+            Comparator.comparingLong(Change::changeSeq).thenComparingLong(Change::todoId);
+
+    private final Duration tombstoneRetention;
+
+    public ChangeFeed(@Value("${app.sync.tombstone-retention:P30D}") Duration tombstoneRetention) {
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * One feed entry; todo is null when the todo was removed.
+     */
+    public record Change(long changeSeq, long todoId, TodoResponse todo) {
+    }
+
+    /**
+     * @param since The cursor from the previous page, or null for an initial sync
+     * @param now When this read started
+     */
+    public SyncCursor resume(String since, Instant now) {
+        if (since == null || since.isBlank()) {
+            return SyncCursor.initial(now);
+        }
+        SyncCursor cursor = SyncCursor.decode(since);
+        if (cursor.caughtUpAt().isBefore(now.minus(tombstoneRetention))) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Sync cursor expired, fetch the full list again");
+        }
+        return cursor;
+    }
+
+    /**
+     * @return One more than the page size, so each source shows whether it has more
+     */
+    public Limit fetchLimit(int limit) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be positive");
+        }
+        return Limit.of(Math.min(limit, MAX_PAGE_SIZE) + 1);
+    }
+
+    /**
+     * Merges both sources, keeps the first page of them and collapses repeated todos to their
+     * latest entry.
+     */
+    public TodoChangesResponse page(SyncCursor from, Instant now, List<Change> changed, List<Change> removed, int limit) {
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        List<Change> merged = new ArrayList<>(changed.size() + removed.size());
+        merged.addAll(changed);
+        merged.addAll(removed);
+        merged.sort(FEED_ORDER);
+
+        boolean hasMore = merged.size() > pageSize;
+        List<Change> page = hasMore ? merged.subList(0, pageSize) : merged;
+
+        Map<Long, Change> latest = new LinkedHashMap<>();
+        page.forEach(change -> {
+            latest.remove(change.todoId());
+            latest.put(change.todoId(), change);
+        });
+
+        SyncCursor next = page.isEmpty()
+                ? new SyncCursor(from.changeSeq(), from.todoId(), now)
+                : new SyncCursor(page.getLast().changeSeq(), page.getLast().todoId(), hasMore ? from.caughtUpAt() : now);
+        return new TodoChangesResponse(
+                latest.values().stream().filter(change -> change.todo() != null).map(Change::todo).toList(),
+                latest.values().stream().filter(change -> change.todo() == null).map(Change::todoId).toList(),
+                next.encode(),
+                hasMore);
+    }
+}
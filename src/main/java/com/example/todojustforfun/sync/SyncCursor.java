@@ -0,0 +1,53 @@
+package com.example.todojustforfun.sync;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position in a change feed: the (change_seq, todo id) of the last change handed out, and when
+ * the client was last fully caught up. Encoded as an opaque token like ScrollCursor.
+ */
+public record SyncCursor(long changeSeq, long todoId, Instant caughtUpAt) {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * @param now When the initial sync starts
+     * @return A position before every change
+     */
+    public static SyncCursor initial(Instant now) {
+        return new SyncCursor(-1, 0, now);
+    }
+
+    public boolean isInitial() {
+        return changeSeq < 0;
+    }
+
+    public String encode() {
+        String raw = changeSeq + ":" + todoId + ":" + caughtUpAt.getEpochSecond();
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token A token produced by {@link #encode()}
+     * @return The decoded position
+     */
+    public static SyncCursor decode(String token) {
+        try {
+            String[] parts = new String(DECODER.decode(token), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed sync cursor");
+            }
+            return new SyncCursor(
+                    Long.parseLong(parts[0]),
+                    Long.parseLong(parts[1]),
+                    Instant.ofEpochSecond(Long.parseLong(parts[2])));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
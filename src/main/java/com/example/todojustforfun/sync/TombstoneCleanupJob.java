@@ -0,0 +1,52 @@
+package com.example.todojustforfun.sync;
+
+import com.example.todojustforfun.repositories.GroupTodoTombstoneRepository;
+import com.example.todojustforfun.repositories.TodoTombstoneRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Prunes tombstones older than the sync cursor retention in bounded batches. Cursors that old
+ * are rejected by {@link ChangeFeed}, so no client can still need them.
+ */
+@Component
+public class TombstoneCleanupJob {
+    private final TodoTombstoneRepository todoTombstoneRepository;
+    private final GroupTodoTombstoneRepository groupTodoTombstoneRepository;
+    private final Duration retention;
+    private final int batchSize;
+
+    public TombstoneCleanupJob(
+            TodoTombstoneRepository todoTombstoneRepository,
+            GroupTodoTombstoneRepository groupTodoTombstoneRepository,
+            @Value("${app.sync.tombstone-retention:P30D}") Duration retention,
+            @Value("${app.sync.cleanup.batch-size:1000}") int batchSize
+    ) {
+        this.todoTombstoneRepository = todoTombstoneRepository;
+        this.groupTodoTombstoneRepository = groupTodoTombstoneRepository;
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.sync.cleanup.interval:PT1H}")
+    public int deleteExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        return deleteInBatches(size -> todoTombstoneRepository.deleteRemovedBeforeBatch(cutoff, size))
+                + deleteInBatches(size -> groupTodoTombstoneRepository.deleteRemovedBeforeBatch(cutoff, size));
+    }
+
+    private int deleteInBatches(IntUnaryOperator deleteBatch) {
+        int deleted = 0;
+        int batch;
+        do {
+            batch = deleteBatch.applyAsInt(batchSize);
+            deleted += batch;
+        } while (batch == batchSize);
+        return deleted;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.todojustforfun.validation;
+
+import com.example.todojustforfun.models.Todo;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Field rules a todo must satisfy before it is saved: a title of at most 120 characters,
+ * a description of at most 255, neither blank, and a due date no earlier than the current second.
+ */
+@Component
+public class TodoValidator {
+    private static final Predicate<Todo> HAS_TITLE = t -> t.getTitle() != null
+            && !t.getTitle().trim().isEmpty() && t.getTitle().length() <= 120;
+    private static final Predicate<Todo> HAS_DESCRIPTION = t -> t.getDescription() != null
+            && !t.getDescription().trim().isEmpty() && t.getDescription().length() <= 255;
+    private static final Predicate<Todo> DUE_DATE_NOT_PAST = t -> {
+        if (t.getDueDate() == null) {
+            return true;
+        }
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Instant dueInstant = t.getDueDate().toInstant().truncatedTo(ChronoUnit.SECONDS);
+        return !dueInstant.isBefore(now);
+    };
+    private static final Predicate<Todo> VALID = HAS_TITLE.and(HAS_DESCRIPTION).and(DUE_DATE_NOT_PAST);
+
+    /**
+     * @return The todo if it is valid, otherwise empty
+     */
+    public Optional<Todo> validate(Todo todo) {
+        return Optional.of(todo).filter(VALID);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.todojustforfun.web;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 503 carrying Retry-After, so callers turned away by a saturated resource back off
+ * the same way they do for database admission and rate-limit rejections.
+ */
+public class RetryLaterException extends ResponseStatusException {
+    private final long retryAfterSeconds;
+
+    public RetryLaterException(String reason, long retryAfterSeconds) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, reason);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return headers;
+    }
+}
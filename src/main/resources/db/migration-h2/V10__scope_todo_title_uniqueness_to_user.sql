@@ -0,0 +1,21 @@
+-- H2 names the inline UNIQUE constraint from V1 itself and has no expression indexes,
+-- so the column is rebuilt to shed the constraint and lower(title) is indexed through a generated column.
+ALTER TABLE todos
+    ADD COLUMN title_scoped VARCHAR(120);
+
+UPDATE todos SET title_scoped = title;
+
+ALTER TABLE todos
+    DROP COLUMN title;
+
+ALTER TABLE todos
+    ALTER COLUMN title_scoped RENAME TO title;
+
+ALTER TABLE todos
+    ALTER COLUMN title SET NOT NULL;
+
+ALTER TABLE todos
+    ADD COLUMN title_key VARCHAR(120) GENERATED ALWAYS AS (LOWER(title));
+
+CREATE UNIQUE INDEX uq_todos_user_title
+    ON todos (user_id, title_key);
@@ -0,0 +1,2 @@
+-- H2 has no trigram support; substring search uses the in-process n-gram index (app.search.engine=ngram).
+SELECT 1;
@@ -0,0 +1,28 @@
+ALTER TABLE todos
+    ADD COLUMN completed_at TIMESTAMP WITH TIME ZONE NULL;
+
+-- When legacy todos were completed is unknown, so each gets the full grace period from now.
+UPDATE todos SET completed_at = CURRENT_TIMESTAMP WHERE completed;
+
+CREATE INDEX idx_todos_completed_at
+    ON todos (completed_at, id);
+
+CREATE TABLE IF NOT EXISTS todos_archive (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(120) NOT NULL,
+    description VARCHAR(255),
+    completed BOOLEAN NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    change_seq BIGINT NOT NULL,
+    due_date TIMESTAMP WITH TIME ZONE NULL,
+    user_id BIGINT NOT NULL,
+    completed_at TIMESTAMP WITH TIME ZONE NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_todos_archive_user_created_id
+    ON todos_archive (user_id, created_at DESC, id DESC);
+
+ALTER TABLE group_todo_shares
+    DROP CONSTRAINT fk_group_todo_shares_todo;
@@ -0,0 +1,8 @@
+ALTER TABLE todos
+    ADD COLUMN reminded_at TIMESTAMP WITH TIME ZONE NULL;
+
+-- Todos already past due were never going to be reminded; without this the first reload would fire them all at once.
+UPDATE todos SET reminded_at = CURRENT_TIMESTAMP WHERE due_date < CURRENT_TIMESTAMP;
+
+CREATE INDEX idx_todos_due_date_open
+    ON todos (due_date, id);
@@ -0,0 +1,5 @@
+CREATE INDEX idx_todos_user_created_id
+    ON todos (user_id, created_at DESC, id DESC);
+
+CREATE INDEX idx_todos_user_completed_created_id
+    ON todos (user_id, completed, created_at DESC, id DESC);
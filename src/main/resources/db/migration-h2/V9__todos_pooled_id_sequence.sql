@@ -0,0 +1,5 @@
+-- Hibernate reserves ids 50 at a time and treats each value as the top of its block, so the
+-- first value must sit a whole block above the ids the identity column already handed out.
+CREATE SEQUENCE IF NOT EXISTS todos_id_seq START WITH 1 INCREMENT BY 50;
+EXECUTE IMMEDIATE 'ALTER SEQUENCE todos_id_seq RESTART WITH ' || (SELECT COALESCE(MAX(id), 0) + 50 FROM todos);
+ALTER TABLE todos ALTER COLUMN id DROP IDENTITY;
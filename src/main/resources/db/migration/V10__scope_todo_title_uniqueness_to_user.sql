@@ -0,0 +1,5 @@
+ALTER TABLE todos
+    DROP CONSTRAINT IF EXISTS todos_title_key;
+
+CREATE UNIQUE INDEX uq_todos_user_title
+    ON todos (user_id, lower(title));
@@ -0,0 +1,4 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_todos_title_trgm
+    ON todos USING gin (lower(title) gin_trgm_ops);
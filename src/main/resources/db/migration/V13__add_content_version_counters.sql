@@ -0,0 +1,5 @@
+ALTER TABLE users
+    ADD COLUMN todos_version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE groups
+    ADD COLUMN shares_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,43 @@
+ALTER TABLE todos
+    ADD COLUMN updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+ALTER TABLE todos
+    ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+
+UPDATE todos SET updated_at = created_at;
+
+CREATE INDEX idx_todos_user_change_seq
+    ON todos (user_id, change_seq, id);
+
+ALTER TABLE group_todo_shares
+    ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_group_todo_shares_group_change_seq
+    ON group_todo_shares (group_id, change_seq, todo_id);
+
+CREATE TABLE IF NOT EXISTS todo_tombstones (
+    todo_id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    change_seq BIGINT NOT NULL,
+    removed_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_todo_tombstones_user_change_seq
+    ON todo_tombstones (user_id, change_seq, todo_id);
+
+CREATE INDEX idx_todo_tombstones_removed_at
+    ON todo_tombstones (removed_at);
+
+CREATE TABLE IF NOT EXISTS group_todo_tombstones (
+    id BIGSERIAL PRIMARY KEY,
+    group_id BIGINT NOT NULL,
+    todo_id BIGINT NOT NULL,
+    change_seq BIGINT NOT NULL,
+    removed_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_group_todo_tombstones_group_change_seq
+    ON group_todo_tombstones (group_id, change_seq, todo_id);
+
+CREATE INDEX idx_group_todo_tombstones_removed_at
+    ON group_todo_tombstones (removed_at);
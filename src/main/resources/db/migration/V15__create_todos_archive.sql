@@ -0,0 +1,29 @@
+ALTER TABLE todos
+    ADD COLUMN completed_at TIMESTAMPTZ NULL;
+
+-- When legacy todos were completed is unknown, so each gets the full grace period from now.
+UPDATE todos SET completed_at = now() WHERE completed;
+
+CREATE INDEX idx_todos_completed_at
+    ON todos (completed_at, id)
+    WHERE completed_at IS NOT NULL;
+
+CREATE TABLE IF NOT EXISTS todos_archive (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(120) NOT NULL,
+    description VARCHAR(255),
+    completed BOOLEAN NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL,
+    change_seq BIGINT NOT NULL,
+    due_date TIMESTAMPTZ NULL,
+    user_id BIGINT NOT NULL,
+    completed_at TIMESTAMPTZ NULL,
+    archived_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_todos_archive_user_created_id
+    ON todos_archive (user_id, created_at DESC, id DESC);
+
+ALTER TABLE group_todo_shares
+    DROP CONSTRAINT fk_group_todo_shares_todo;
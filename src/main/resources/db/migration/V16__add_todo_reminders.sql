@@ -0,0 +1,10 @@
+ALTER TABLE todos
+    ADD COLUMN reminded_at TIMESTAMPTZ NULL;
+
+-- Todos already past due were never going to be reminded; without this the first reload would fire them all at once.
+UPDATE todos SET reminded_at = now() WHERE due_date < now();
+
+-- Reminded todos leave the index, so it only ever holds reminders still to fire.
+CREATE INDEX idx_todos_due_date_open
+    ON todos (due_date, id)
+    WHERE completed = false AND reminded_at IS NULL;
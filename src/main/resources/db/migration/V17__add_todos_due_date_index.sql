@@ -0,0 +1,2 @@
+CREATE INDEX idx_todos_user_completed_due_id
+    ON todos (user_id, completed, due_date, id);
@@ -0,0 +1,36 @@
+CREATE TABLE IF NOT EXISTS user_todo_stats (
+    user_id BIGINT PRIMARY KEY,
+    total BIGINT NOT NULL DEFAULT 0,
+    completed BIGINT NOT NULL DEFAULT 0,
+    shared BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS group_todo_stats (
+    group_id BIGINT PRIMARY KEY,
+    total BIGINT NOT NULL DEFAULT 0,
+    completed BIGINT NOT NULL DEFAULT 0
+);
+
+ALTER TABLE user_todo_stats
+    ADD CONSTRAINT fk_user_todo_stats_user
+        FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+
+ALTER TABLE group_todo_stats
+    ADD CONSTRAINT fk_group_todo_stats_group
+        FOREIGN KEY (group_id) REFERENCES groups(id) ON DELETE CASCADE;
+
+INSERT INTO user_todo_stats (user_id, total, completed, shared)
+SELECT u.id,
+       (SELECT COUNT(*) FROM todos t WHERE t.user_id = u.id),
+       (SELECT COUNT(*) FROM todos t WHERE t.user_id = u.id AND t.completed = TRUE),
+       (SELECT COUNT(*) FROM todos t WHERE t.user_id = u.id
+            AND EXISTS (SELECT 1 FROM group_todo_shares s WHERE s.todo_id = t.id))
+FROM users u;
+
+-- Shares of archived todos are not counted: the stats cover live todos only.
+INSERT INTO group_todo_stats (group_id, total, completed)
+SELECT g.id,
+       (SELECT COUNT(*) FROM group_todo_shares s JOIN todos t ON t.id = s.todo_id WHERE s.group_id = g.id),
+       (SELECT COUNT(*) FROM group_todo_shares s JOIN todos t ON t.id = s.todo_id
+            WHERE s.group_id = g.id AND t.completed = TRUE)
+FROM groups g;
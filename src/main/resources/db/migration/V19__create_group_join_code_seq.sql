@@ -0,0 +1,2 @@
+-- Each nextval reserves a block of 100 join codes; JoinCodePool.BLOCK_SIZE must match.
+CREATE SEQUENCE IF NOT EXISTS group_join_code_seq START WITH 1 INCREMENT BY 100;
@@ -0,0 +1,4 @@
+-- Hibernate reserves ids 50 at a time from todos_id_seq, so the sequence must not also
+-- back a column default: a plain insert would take an id from a block Hibernate already holds.
+ALTER TABLE todos ALTER COLUMN id DROP DEFAULT;
+ALTER SEQUENCE todos_id_seq INCREMENT BY 50;
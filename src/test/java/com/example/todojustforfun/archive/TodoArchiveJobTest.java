@@ -0,0 +1,193 @@
+package com.example.todojustforfun.archive;
+
+import com.example.todojustforfun.dto.TodoBulkItemResult;
+import com.example.todojustforfun.dto.TodoPageResponse;
+import com.example.todojustforfun.dto.TodoRequest;
+import com.example.todojustforfun.dto.TodoResponse;
+import com.example.todojustforfun.models.Group;
+import com.example.todojustforfun.models.User;
+import com.example.todojustforfun.repositories.GroupMemberRepository;
+import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.repositories.UserRepository;
+import com.example.todojustforfun.services.GroupService;
+import com.example.todojustforfun.services.GroupTodoShareService;
+import com.example.todojustforfun.services.TodoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TodoArchiveJobTest {
+
+    @Autowired
+    private TodoArchiveJob todoArchiveJob;
+
+    @Autowired
+    private TodoArchiver todoArchiver;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private GroupTodoShareService groupTodoShareService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private GroupTodoShareRepository groupTodoShareRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        groupTodoShareRepository.deleteAll();
+        groupMemberRepository.deleteAll();
+        groupRepository.deleteAll();
+        jdbcTemplate.update("delete from todos_archive");
+        todoRepository.deleteAll();
+        userRepository.deleteAll();
+
+        owner = new User();
+        owner.setEmail("archive@example.com");
+        owner.setPasswordHash("hashed-password");
+        owner = userRepository.save(owner);
+    }
+
+    @Test
+    void movesLongCompletedTodosOutOfTheLiveTable() {
+        Long old = completedDaysAgo("Old", 40);
+        Long recent = completedDaysAgo("Recent", 5);
+        Long open = create("Open");
+        String etagBefore = todoService.getTodosETag(owner.getId(), "all");
+
+        assertThat(todoArchiveJob.archiveCompleted()).isEqualTo(1);
+
+        assertThat(todoRepository.findById(old)).isEmpty();
+        assertThat(ids(todoService.getAllTodos(owner.getId(), null, 50))).containsExactlyInAnyOrder(recent, open);
+        assertThat(ids(todoService.getAllTodos(owner.getId(), null, 50, true))).containsExactlyInAnyOrder(old, recent, open);
+        assertThat(ids(todoService.getAllTodosByCompleted(true, owner.getId(), null, 50, true)))
+                .containsExactlyInAnyOrder(old, recent);
+        assertThat(todoService.getTodosETag(owner.getId(), "all")).isNotEqualTo(etagBefore);
+
+        assertThatThrownBy(() -> todoService.getTodoById(old, owner.getId()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+        assertThat(todoService.getTodoById(old, owner.getId(), true).title()).isEqualTo("Old");
+
+        assertThat(todoArchiveJob.archiveCompleted()).isZero();
+    }
+
+    @Test
+    void continuesAcrossBatchesAndLeavesReopenedTodos() {
+        for (int i = 0; i < 5; i++) {
+            completedDaysAgo("Batch " + i, 40 + i);
+        }
+        Long reopened = completedDaysAgo("Reopened", 60);
+        todoService.completeTodo(reopened, owner.getId());
+
+        TodoArchiveJob smallBatches = new TodoArchiveJob(
+                todoArchiver, Duration.ofDays(30), 2, new SimpleMeterRegistry());
+
+        assertThat(smallBatches.archiveCompleted()).isEqualTo(5);
+        assertThat(ids(todoService.getAllTodos(owner.getId(), null, 50))).containsExactly(reopened);
+        assertThat(todoService.getAllTodos(owner.getId(), null, 50, true).items()).hasSize(6);
+    }
+
+    @Test
+    void sharesOfArchivedTodosStayReadableAndCanBeUnshared() {
+        Group group = groupService.createGroup("Archive", owner.getId());
+        Long old = completedDaysAgo("Shared old", 40);
+        Long live = create("Shared live");
+        groupTodoShareService.shareTodo(group.getId(), old, owner.getId());
+        groupTodoShareService.shareTodo(group.getId(), live, owner.getId());
+        String etagBefore = groupTodoShareService.getSharedTodosETag(group.getId(), owner.getId(), "all");
+
+        todoArchiveJob.archiveCompleted();
+
+        assertThat(ids(groupTodoShareService.listSharedTodos(group.getId(), owner.getId(), null, null, null, 50)))
+                .containsExactly(live);
+        assertThat(ids(groupTodoShareService.listSharedTodos(group.getId(), owner.getId(), null, "dueDate", null, 50, true)))
+                .containsExactlyInAnyOrder(old, live);
+        assertThat(groupTodoShareService.getSharedTodosETag(group.getId(), owner.getId(), "all")).isNotEqualTo(etagBefore);
+        assertThat(groupTodoShareService.getSharedTodoChanges(group.getId(), owner.getId(), null, 100).changed())
+                .extracting(TodoResponse::id)
+                .containsExactlyInAnyOrder(old, live);
+
+        groupTodoShareService.unshareTodo(group.getId(), old, owner.getId());
+
+        assertThat(ids(groupTodoShareService.listSharedTodos(group.getId(), owner.getId(), null, null, null, 50, true)))
+                .containsExactly(live);
+    }
+
+    @Test
+    void archivedTodosCanBeDeletedAndAreTombstoned() {
+        Group group = groupService.createGroup("Deleted", owner.getId());
+        Long single = completedDaysAgo("Single", 40);
+        Long bulk = completedDaysAgo("Bulk", 40);
+        groupTodoShareService.shareTodo(group.getId(), single, owner.getId());
+        todoArchiveJob.archiveCompleted();
+        create("Live");
+        String since = todoService.getChanges(owner.getId(), null, 100).cursor();
+
+        todoService.deleteTodoById(single, owner.getId());
+        assertThat(todoService.deleteTodos(List.of(bulk, -1L), owner.getId()).results())
+                .extracting(TodoBulkItemResult::status)
+                .containsExactly(204, 404);
+
+        assertThat(todoService.getAllTodos(owner.getId(), null, 50, true).items()).hasSize(1);
+        assertThat(groupTodoShareRepository.findAllByTodoIdIn(List.of(single))).isEmpty();
+        assertThat(todoService.getChanges(owner.getId(), since, 100).removed()).containsExactlyInAnyOrder(single, bulk);
+        assertThatThrownBy(() -> todoService.deleteTodoById(single, owner.getId()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    private Long create(String title) {
+        return todoService.createTodo(new TodoRequest(title, "Description", null), owner.getId()).id();
+    }
+
+    private Long completedDaysAgo(String title, int days) {
+        Long id = create(title);
+        todoService.completeTodo(id, owner.getId());
+        jdbcTemplate.update("update todos set completed_at = ? where id = ?",
+                Timestamp.from(Instant.now().minus(Duration.ofDays(days))), id);
+        return id;
+    }
+
+    private static List<Long> ids(TodoPageResponse page) {
+        return page.items().stream().map(TodoResponse::id).toList();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.todojustforfun.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringCacheTest {
+
+    @Test
+    void fullCacheDropsATenthAtOnceAndRefreshingAKeyEvictsNothing() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        ExpiringCache<Integer, String> cache = new ExpiringCache<>("test", Duration.ofMinutes(1), 100, registry);
+        IntStream.range(0, 100).forEach(i -> cache.put(i, "v" + i));
+
+        cache.put(42, "refreshed");
+        assertThat(size(registry)).isEqualTo(100);
+        assertThat(evictions(registry)).isZero();
+
+        cache.put(100, "new");
+        assertThat(size(registry)).isEqualTo(91);
+        assertThat(evictions(registry)).isEqualTo(10);
+
+        IntStream.range(101, 110).forEach(i -> cache.put(i, "v" + i));
+        assertThat(size(registry)).isEqualTo(100);
+        assertThat(evictions(registry)).isEqualTo(10);
+    }
+
+    @Test
+    void expiredEntriesPurgedToMakeRoomCountAsEvictions() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        ExpiringCache<Integer, String> cache = new ExpiringCache<>("test", Duration.ZERO, 10, registry);
+        IntStream.range(0, 10).forEach(i -> cache.put(i, "v" + i));
+
+        cache.put(10, "new");
+
+        assertThat(size(registry)).isEqualTo(1);
+        assertThat(evictions(registry)).isEqualTo(10);
+    }
+
+    private static double size(MeterRegistry registry) {
+        return registry.get("cache.size").tag("cache", "test").gauge().value();
+    }
+
+    private static double evictions(MeterRegistry registry) {
+        return registry.get("cache.evictions").tag("cache", "test").counter().count();
+    }
+}
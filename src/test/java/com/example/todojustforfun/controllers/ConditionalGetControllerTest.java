@@ -0,0 +1,145 @@
+package com.example.todojustforfun.controllers;
+
+import com.example.todojustforfun.dto.TodoPageResponse;
+import com.example.todojustforfun.dto.TodoRequest;
+import com.example.todojustforfun.models.Group;
+import com.example.todojustforfun.models.User;
+import com.example.todojustforfun.repositories.GroupMemberRepository;
+import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.repositories.UserRepository;
+import com.example.todojustforfun.services.GroupService;
+import com.example.todojustforfun.services.GroupTodoShareService;
+import com.example.todojustforfun.services.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ConditionalGetControllerTest {
+
+    @Autowired
+    private TodoController todoController;
+
+    @Autowired
+    private GroupController groupController;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private GroupTodoShareService groupTodoShareService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private GroupTodoShareRepository groupTodoShareRepository;
+
+    @BeforeEach
+    void setUp() {
+        groupTodoShareRepository.deleteAll();
+        groupMemberRepository.deleteAll();
+        groupRepository.deleteAll();
+        todoRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getAllTodos_returnsNotModifiedUntilTodosChange() {
+        User owner = createUser("etag-owner@example.com");
+        Authentication auth = authenticationFor(owner);
+        todoService.createTodo(new TodoRequest("First", "desc", null), owner.getId());
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        ResponseEntity<TodoPageResponse> initial = todoController.getAllTodos(null, 50, false, auth, request(null, first));
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(initial.getBody().items()).hasSize(1);
+        assertThat(etag).isNotBlank();
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertThat(todoController.getAllTodos(null, 50, false, auth, request(etag, second))).isNull();
+        assertThat(second.getStatus()).isEqualTo(304);
+
+        MockHttpServletResponse otherPage = new MockHttpServletResponse();
+        assertThat(todoController.getAllTodos(null, 10, false, auth, request(etag, otherPage))).isNotNull();
+
+        todoService.createTodo(new TodoRequest("Second", "desc", null), owner.getId());
+
+        MockHttpServletResponse afterChange = new MockHttpServletResponse();
+        ResponseEntity<TodoPageResponse> changed = todoController.getAllTodos(null, 50, false, auth, request(etag, afterChange));
+        assertThat(changed.getBody().items()).hasSize(2);
+        assertThat(afterChange.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void getSharedTodos_changesWhenSharedTodoIsUpdated() {
+        User owner = createUser("etag-group-owner@example.com");
+        Authentication auth = authenticationFor(owner);
+        Group group = groupService.createGroup("Etag crew", owner.getId());
+        Long todoId = todoService.createTodo(new TodoRequest("Shared", "desc", null), owner.getId()).id();
+        groupTodoShareService.shareTodo(group.getId(), todoId, owner.getId());
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        groupController.getSharedTodos(group.getId(), null, "createdAt", null, 50, false, auth, request(null, first));
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse unchanged = new MockHttpServletResponse();
+        groupController.getSharedTodos(group.getId(), null, "createdAt", null, 50, false, auth, request(etag, unchanged));
+        assertThat(unchanged.getStatus()).isEqualTo(304);
+
+        todoService.completeTodos(List.of(todoId), true, owner.getId());
+
+        MockHttpServletResponse changed = new MockHttpServletResponse();
+        ResponseEntity<TodoPageResponse> response = groupController.getSharedTodos(
+                group.getId(), null, "createdAt", null, 50, false, auth, request(etag, changed));
+        assertThat(changed.getStatus()).isEqualTo(200);
+        assertThat(response.getBody().items().getFirst().completed()).isTrue();
+    }
+
+    private ServletWebRequest request(String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/todos");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, response);
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPasswordHash("hash");
+        return userRepository.save(user);
+    }
+
+    private Authentication authenticationFor(User user) {
+        return new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of());
+    }
+}
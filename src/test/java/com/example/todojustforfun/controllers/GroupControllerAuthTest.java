@@ -17,9 +17,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -119,7 +121,9 @@ class GroupControllerAuthTest {
 
         ResponseStatusException exception = assertThrows(
                 ResponseStatusException.class,
-                () -> groupController.getSharedTodos(group.getId(), null, outsiderAuth)
+                () -> groupController.getSharedTodos(
+                        group.getId(), null, "createdAt", null, 50, false, outsiderAuth,
+                        new ServletWebRequest(new MockHttpServletRequest("GET", "/groups/" + group.getId() + "/shared-todos")))
         );
 
         assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
@@ -1,6 +1,7 @@
 package com.example.todojustforfun.controllers;
 
 import com.example.todojustforfun.dto.TodoRequest;
+import com.example.todojustforfun.export.TodoExporter;
 import com.example.todojustforfun.models.Todo;
 import com.example.todojustforfun.models.User;
 import com.example.todojustforfun.repositories.GroupMemberRepository;
@@ -8,18 +9,43 @@ import com.example.todojustforfun.repositories.GroupRepository;
 import com.example.todojustforfun.repositories.GroupTodoShareRepository;
 import com.example.todojustforfun.repositories.TodoRepository;
 import com.example.todojustforfun.repositories.UserRepository;
+import com.example.todojustforfun.services.TodoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -43,6 +69,15 @@ class TodoOwnershipControllerTest {
     @Autowired
     private GroupRepository groupRepository;
 
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
     private Todo ownerTodo;
 
     @BeforeEach
@@ -113,9 +148,78 @@ class TodoOwnershipControllerTest {
 
         ResponseStatusException exception = assertThrows(
                 ResponseStatusException.class,
-                () -> todoController.getTodoById(ownerTodo.getId(), authentication)
+                () -> todoController.getTodoById(ownerTodo.getId(), false, authentication)
         );
 
         assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
+
+    @Test
+    void exportTodos_streamsOnlyTheCallersTodos() throws Exception {
+        Authentication owner = new UsernamePasswordAuthenticationToken("owner@example.com", "password", java.util.List.of());
+        Authentication other = new UsernamePasswordAuthenticationToken("other@example.com", "password", java.util.List.of());
+
+        JsonNode ownerExport = export(owner);
+        JsonNode otherExport = export(other);
+
+        assertThat(ownerExport.isArray()).isTrue();
+        assertThat(ownerExport).hasSize(1);
+        assertThat(ownerExport.get(0).get("id").asLong()).isEqualTo(ownerTodo.getId());
+        assertThat(ownerExport.get(0).get("title").asString()).isEqualTo("Owner todo");
+        assertThat(otherExport.isArray()).isTrue();
+        assertThat(otherExport).isEmpty();
+    }
+
+    @Test
+    void exportTodos_turnsAwayExportsBeyondTheConcurrencyLimit() throws Exception {
+        TodoExporter exporter = new TodoExporter(todoService, jsonMapper, 1, new SimpleMeterRegistry());
+        StreamingResponseBody first = exporter.export(ownerTodo.getUserId(), webRequest());
+
+        ResponseStatusException exception = assertThrows(
+                ResponseStatusException.class,
+                () -> exporter.export(ownerTodo.getUserId(), webRequest())
+        );
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(exception.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+
+        first.writeTo(new ByteArrayOutputStream());
+        exporter.export(ownerTodo.getUserId(), webRequest()).writeTo(new ByteArrayOutputStream());
+    }
+
+    @Test
+    void exportTodos_givesTheSlotBackWhenTheBodyNeverRuns() throws Exception {
+        TodoExporter exporter = new TodoExporter(todoService, jsonMapper, 1, new SimpleMeterRegistry());
+        ServletWebRequest webRequest = webRequest();
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(webRequest);
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(webRequest.getRequest(), webRequest.getResponse()));
+        StreamingResponseBody body = exporter.export(ownerTodo.getUserId(), webRequest);
+
+        AsyncTaskExecutor rejecting = task -> {
+            throw new RejectedExecutionException();
+        };
+        asyncManager.startCallableProcessing(new WebAsyncTask<>(1000L, rejecting, () -> {
+            body.writeTo(new ByteArrayOutputStream());
+            return null;
+        }));
+        webRequest.getRequest().getAsyncContext().complete();
+
+        exporter.export(ownerTodo.getUserId(), webRequest()).writeTo(new ByteArrayOutputStream());
+    }
+
+    private static ServletWebRequest webRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private JsonNode export(Authentication authentication) throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        MvcResult started = mockMvc.perform(get("/todos/export").principal(authentication))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+        return jsonMapper.readTree(result.getResponse().getContentAsByteArray());
+    }
 }
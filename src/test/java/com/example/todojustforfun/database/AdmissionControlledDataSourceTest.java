@@ -0,0 +1,107 @@
+package com.example.todojustforfun.database;
+
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AdmissionControlledDataSourceTest {
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(mock(Connection.class));
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(target, 1, 0, Duration.ofMillis(50));
+
+        Connection first = dataSource.getConnection();
+
+        assertThrows(DatabaseBusyException.class, dataSource::getConnection);
+        assertThat(dataSource.rejected()).isEqualTo(1);
+
+        first.close();
+        first.close();
+
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+        dataSource.getConnection();
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    void timesOutWaitingForPermit() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(mock(Connection.class));
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(target, 1, 10, Duration.ofMillis(20));
+
+        dataSource.getConnection();
+
+        assertThrows(DatabaseBusyException.class, dataSource::getConnection);
+        assertThat(dataSource.waiting()).isZero();
+    }
+
+    @Test
+    void releasesPermitWhenPoolFails() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenThrow(new SQLException("down"));
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(target, 1, 0, Duration.ofMillis(20));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectionsAnswer503WithRetryAfterFromControllersAndFilters() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new BusyController())
+                .setControllerAdvice(new DatabaseBusyExceptionHandler())
+                .build();
+
+        mockMvc.perform(get("/busy"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new DatabaseBusyFilter().doFilter(new MockHttpServletRequest("GET", "/todos"), response, (request, ignored) -> {
+            throw new ServletException(new DataAccessResourceFailureException("session lookup", busy()));
+        });
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+
+        assertThrows(IllegalStateException.class, () -> new DatabaseBusyFilter().doFilter(
+                new MockHttpServletRequest("GET", "/todos"), new MockHttpServletResponse(), (request, ignored) -> {
+                    throw new IllegalStateException("unrelated");
+                }));
+    }
+
+    private static DatabaseBusyException busy() {
+        return new DatabaseBusyException("Too many requests waiting for a database connection");
+    }
+
+    @RestController
+    static class BusyController {
+        @GetMapping("/busy")
+        void failToOpenTransaction() {
+            throw new CannotCreateTransactionException("Could not open JPA EntityManager", AdmissionControlledDataSourceTest.busy());
+        }
+    }
+}
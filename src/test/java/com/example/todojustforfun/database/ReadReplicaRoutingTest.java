@@ -0,0 +1,238 @@
+package com.example.todojustforfun.database;
+
+import com.example.todojustforfun.controllers.TodoController;
+import com.example.todojustforfun.dto.TodoPageResponse;
+import com.example.todojustforfun.dto.TodoRequest;
+import com.example.todojustforfun.dto.TodoResponse;
+import com.example.todojustforfun.etag.ContentVersions;
+import com.example.todojustforfun.models.User;
+import com.example.todojustforfun.repositories.GroupMemberRepository;
+import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.repositories.UserRepository;
+import com.example.todojustforfun.services.TodoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Uses a second, independently migrated H2 database as the "replica". Nothing replicates into it,
+ * so a read that returns no rows is one the replica served.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replica.url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "app.datasource.replica.lag-query=select lag_seconds from replica_lag",
+        "app.datasource.replica.max-lag=PT2S",
+        "app.datasource.replica.check-interval=PT1H"
+})
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:todo_replica;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE";
+
+    private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private ReplicaHealth replicaHealth;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private GroupTodoShareRepository groupTodoShareRepository;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TodoController todoController;
+
+    private User owner;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration-h2")
+                .load()
+                .migrate();
+        replica.execute("create table if not exists replica_lag (lag_seconds double precision not null)");
+    }
+
+    @BeforeEach
+    void setUp() {
+        groupTodoShareRepository.deleteAll();
+        groupMemberRepository.deleteAll();
+        groupRepository.deleteAll();
+        todoRepository.deleteAll();
+        userRepository.deleteAll();
+
+        owner = new User();
+        owner.setEmail("replica@example.com");
+        owner.setPasswordHash("hashed-password");
+        owner = userRepository.save(owner);
+        todoService.createTodo(new TodoRequest("Written to primary", "desc", null), owner.getId());
+
+        setReplicaLag(0);
+        // The setup write ran in the test's mock request; the test body starts a new one.
+        inRequest(new MockHttpServletRequest());
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void replicaReads_goToTheReplicaWhileItIsWithinTheLagBound() {
+        double before = routedReads("replica");
+
+        assertThat(todoService.getAllTodos(owner.getId(), null, 50).items()).isEmpty();
+        assertThat(routedReads("replica")).isEqualTo(before + 1);
+        assertThat(todoRepository.findAllByUserId(owner.getId())).hasSize(1);
+    }
+
+    @Test
+    void replicaReads_fallBackToThePrimaryWhenTheReplicaLags() {
+        setReplicaLag(30);
+
+        assertThat(todoService.getAllTodos(owner.getId(), null, 50).items())
+                .extracting(TodoResponse::title)
+                .containsExactly("Written to primary");
+    }
+
+    @Test
+    void replicaReads_stayOnThePrimaryInsideTheReadYourWritesWindow() {
+        MockHttpServletResponse writeResponse = inRequest(new MockHttpServletRequest());
+        todoService.createTodo(new TodoRequest("Fresh", "desc", null), owner.getId());
+        assertThat(todoService.getAllTodos(owner.getId(), null, 50).items()).hasSize(2);
+
+        Cookie window = writeResponse.getCookie(ReadYourWrites.COOKIE_NAME);
+        assertThat(window).isNotNull();
+
+        MockHttpServletRequest nextRequest = new MockHttpServletRequest();
+        nextRequest.setCookies(window);
+        inRequest(nextRequest);
+        assertThat(todoService.getAllTodos(owner.getId(), null, 50).items()).hasSize(2);
+
+        inRequest(new MockHttpServletRequest());
+        assertThat(todoService.getAllTodos(owner.getId(), null, 50).items()).isEmpty();
+    }
+
+    @Test
+    void readYourWritesWindow_opensOnlyForTransactionsThatWrote() {
+        MockHttpServletResponse readOnlyResponse = inRequest(new MockHttpServletRequest());
+        transactionTemplate.executeWithoutResult(status -> todoRepository.findAllByUserId(owner.getId()));
+        assertThat(readOnlyResponse.getCookie(ReadYourWrites.COOKIE_NAME)).isNull();
+        assertThat(todoService.getAllTodos(owner.getId(), null, 50).items()).isEmpty();
+
+        MockHttpServletResponse writeResponse = inRequest(new MockHttpServletRequest());
+        transactionTemplate.executeWithoutResult(status -> todoRepository.clearReminder(-1L));
+        assertThat(writeResponse.getCookie(ReadYourWrites.COOKIE_NAME)).isNotNull();
+    }
+
+    @Test
+    void conditionalReads_tagAndListComeFromTheSameDatabase() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/todos");
+        MockHttpServletResponse response = inRequest(request);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(owner.getEmail(), "password", List.of());
+
+        ResponseEntity<TodoPageResponse> page = todoController.getAllTodos(
+                null, 50, false, authentication, new ServletWebRequest(request, response));
+
+        assertThat(page.getBody().items()).isEmpty();
+        // The replica has no row for the user, so its version reads as 0; the primary's is 1.
+        assertThat(response.getHeader(HttpHeaders.ETAG))
+                .isEqualTo("\"" + ContentVersions.etag("todos", owner.getId(), 0, "all", null, 50, false) + "\"");
+    }
+
+    @Test
+    void export_streamsFromThePrimaryInsideTheReadYourWritesWindow() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        Authentication authentication = new UsernamePasswordAuthenticationToken(owner.getEmail(), "password", List.of());
+        Cookie window = new Cookie(ReadYourWrites.COOKIE_NAME, Long.toString(System.currentTimeMillis() + 60_000));
+
+        MvcResult started = mockMvc.perform(get("/todos/export").principal(authentication).cookie(window))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Written to primary"));
+
+        started = mockMvc.perform(get("/todos/export").principal(authentication))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    private MockHttpServletResponse inRequest(MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return response;
+    }
+
+    private void setReplicaLag(double seconds) {
+        replica.update("delete from replica_lag");
+        replica.update("insert into replica_lag (lag_seconds) values (?)", seconds);
+        replicaHealth.check();
+    }
+
+    private double routedReads(String target) {
+        return meterRegistry.find("db.routing.reads").tag("target", target).counters()
+                .stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+}
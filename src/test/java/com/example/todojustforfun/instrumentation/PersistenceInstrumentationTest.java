@@ -0,0 +1,120 @@
+package com.example.todojustforfun.instrumentation;
+
+import com.example.todojustforfun.models.User;
+import com.example.todojustforfun.repositories.GroupMemberRepository;
+import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PersistenceInstrumentationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private GroupTodoShareRepository groupTodoShareRepository;
+
+    @BeforeEach
+    void setUp() {
+        groupTodoShareRepository.deleteAll();
+        groupMemberRepository.deleteAll();
+        groupRepository.deleteAll();
+        todoRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        PersistenceStats.end();
+    }
+
+    @Test
+    void countsStatementsAndRowsForCurrentRequest() {
+        createUser("a@example.com");
+        createUser("b@example.com");
+
+        PersistenceStats.begin("TestController.list");
+        userRepository.findAll();
+        userRepository.findByEmail("a@example.com");
+        PersistenceStats stats = PersistenceStats.end();
+
+        assertThat(stats.statements()).isEqualTo(2);
+        assertThat(stats.rows()).isEqualTo(3);
+        assertThat(stats.jdbcNanos()).isPositive();
+    }
+
+    @Test
+    void ignoresStatementsOutsideRequest() {
+        userRepository.findAll();
+
+        assertThat(PersistenceStats.current()).isNull();
+    }
+
+    @Test
+    void recordsMetricsAndFlagsBudgetOverrun() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PersistenceMetricsInterceptor interceptor = new PersistenceMetricsInterceptor(registry, 1);
+
+        PersistenceStats.begin("TestController.list");
+        userRepository.findAll();
+        userRepository.count();
+        interceptor.record(PersistenceStats.end());
+
+        assertThat(registry.get("persistence.request.statements").tag("handler", "TestController.list")
+                .summary().totalAmount()).isEqualTo(2);
+        assertThat(registry.get("persistence.request.jdbc.time").timer().count()).isEqualTo(1);
+        assertThat(registry.get("persistence.request.budget.exceeded").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void measuresTheHandlerThreadOnceAndSkipsTheAsyncCompletionDispatch() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PersistenceMetricsInterceptor interceptor = new PersistenceMetricsInterceptor(registry, 20);
+        HandlerMethod handler = new HandlerMethod(this, getClass().getDeclaredMethod("tearDown"));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/todos/export");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, handler);
+        userRepository.count();
+        interceptor.afterConcurrentHandlingStarted(request, response, handler);
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertThat(registry.get("persistence.request.statements")
+                .tag("handler", "PersistenceInstrumentationTest.tearDown").summary().count()).isEqualTo(1);
+    }
+
+    private void createUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPasswordHash("hash");
+        userRepository.save(user);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.todojustforfun.instrumentation;
+
+import com.example.todojustforfun.repositories.TodoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SlowQueryLogTest {
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private SlowQueryEndpoint slowQueryEndpoint;
+
+    @Test
+    void fingerprintIgnoresLiteralsCommentsAndListLengths() {
+        String first = SqlFingerprint.of("/* load */ SELECT t1_0.id FROM todos t1_0\n WHERE t1_0.user_id = 42 AND t1_0.title = 'it''s' AND t1_0.id IN (?, ?, ?)");
+        String second = SqlFingerprint.of("select t1_0.id from todos t1_0 where t1_0.user_id=7 and t1_0.title='x' and t1_0.id in (?)");
+
+        assertThat(first).isEqualTo("select t1_0.id from todos t1_0 where t1_0.user_id = ? and t1_0.title = ? and t1_0.id in (?)");
+        assertThat(second).isEqualTo("select t1_0.id from todos t1_0 where t1_0.user_id=? and t1_0.title=? and t1_0.id in (?)");
+        assertThat(SqlFingerprint.of("insert into t (a, b) values (?, ?), (?, ?), (?, ?)"))
+                .isEqualTo("insert into t (a, b) values (?)");
+    }
+
+    @Test
+    void repositoryQueriesAreAggregatedByFingerprint() {
+        todoRepository.findAllByUserIdAndCompleted(1L, true);
+        todoRepository.findAllByUserIdAndCompleted(2L, false);
+
+        SlowQueryLog.Summary summary = slowQueryEndpoint.top(500).stream()
+                .filter(s -> s.fingerprint().startsWith("select") && s.fingerprint().contains("from todos")
+                        && s.fingerprint().contains("completed=?") && s.fingerprint().contains("user_id=?")
+                        && !s.fingerprint().contains("order by"))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(summary.count()).isGreaterThanOrEqualTo(2);
+        assertThat(summary.totalMs()).isPositive();
+        assertThat(summary.percentilesMs()).containsKeys("p50", "p95", "p99");
+    }
+
+    @Test
+    void samplesOnlyExecutionsAboveTheThresholdAndRanksByTotalTime() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SlowQueryLog log = new SlowQueryLog(registry, Duration.ofMillis(100), Duration.ofMinutes(1), 10, Duration.ofMinutes(5));
+
+        log.record("select * from todos where id = ?", Duration.ofMillis(5).toNanos(), List.of(1L));
+        log.record("select * from todos where id = ?", Duration.ofMillis(150).toNanos(), List.of(2L));
+        log.record("select * from users where email = ?", Duration.ofMillis(50).toNanos(), Arrays.asList((Object) null));
+
+        List<SlowQueryLog.Summary> top = log.top(10);
+        assertThat(top).extracting(SlowQueryLog.Summary::fingerprint)
+                .containsExactly("select * from todos where id = ?", "select * from users where email = ?");
+        assertThat(top.get(0).count()).isEqualTo(2);
+        assertThat(top.get(0).slowCount()).isEqualTo(1);
+        assertThat(top.get(0).maxMs()).isEqualTo(150.0);
+        assertThat(top.get(1).slowCount()).isZero();
+        assertThat(registry.get("db.query.slow").tag("fingerprint", top.get(0).id()).counter().count()).isEqualTo(1);
+        assertThat(log.top(1)).hasSize(1);
+    }
+
+    @Test
+    void samplesDescribeParametersWithoutTheirValues() {
+        String described = SlowQueryLog.describe(Arrays.asList("s3cret-token", 42L, new byte[32], null));
+
+        assertThat(described).isEqualTo("[String(12), Long, byte[32], null]");
+        assertThat(described).doesNotContain("s3cret", "42");
+    }
+
+    @Test
+    void fingerprintsPastTheLimitShareOneEntry() {
+        SlowQueryLog log = new SlowQueryLog(new SimpleMeterRegistry(), Duration.ofSeconds(1), Duration.ofMinutes(1), 1, Duration.ofMinutes(5));
+
+        log.record("select a from t", 1_000, List.of());
+        log.record("select b from t", 1_000, List.of());
+        log.record("select c from t", 1_000, List.of());
+
+        assertThat(log.top(10)).extracting(SlowQueryLog.Summary::id)
+                .containsExactlyInAnyOrder("other", "%08x".formatted("select a from t".hashCode()));
+    }
+}
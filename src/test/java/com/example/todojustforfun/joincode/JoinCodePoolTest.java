@@ -0,0 +1,56 @@
+package com.example.todojustforfun.joincode;
+
+import com.example.todojustforfun.repositories.GroupRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class JoinCodePoolTest {
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Test
+    void codesStayUniqueAcrossBlocksAndTheBackgroundRefill() throws InterruptedException {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JoinCodePool pool = new JoinCodePool(groupRepository, 50, meterRegistry);
+        Set<String> codes = new HashSet<>();
+        try {
+            for (int i = 0; i < 5 * JoinCodePool.BLOCK_SIZE; i++) {
+                codes.add(pool.next());
+            }
+            Thread.sleep(200);
+        } finally {
+            pool.close();
+        }
+
+        assertThat(codes).hasSize(5 * JoinCodePool.BLOCK_SIZE).allMatch(code -> code.matches("[0-9a-hjkmnp-tv-z]{16}"));
+        assertThat(meterRegistry.get("groups.join_codes.pool").gauge().value()).isPositive();
+        assertThat(meterRegistry.get("groups.join_codes.reserved").counter().count())
+                .isGreaterThanOrEqualTo(5 * JoinCodePool.BLOCK_SIZE);
+    }
+
+    @Test
+    void sequencePrefixIsUniquePerSequenceNumber() {
+        JoinCodePool pool = new JoinCodePool(groupRepository, 50, new SimpleMeterRegistry());
+
+        long distinctPrefixes = LongStream.range(0, 100_000)
+                .mapToObj(sequence -> pool.encode(sequence).substring(0, 8))
+                .distinct()
+                .count();
+
+        assertThat(distinctPrefixes).isEqualTo(100_000);
+        pool.close();
+    }
+}
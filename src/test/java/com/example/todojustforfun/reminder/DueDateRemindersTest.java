@@ -0,0 +1,163 @@
+package com.example.todojustforfun.reminder;
+
+import com.example.todojustforfun.dto.TodoRequest;
+import com.example.todojustforfun.models.Todo;
+import com.example.todojustforfun.models.User;
+import com.example.todojustforfun.repositories.GroupMemberRepository;
+import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.repositories.UserRepository;
+import com.example.todojustforfun.services.TodoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DueDateRemindersTest {
+
+    @Autowired
+    private DueDateReminders dueDateReminders;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private GroupTodoShareRepository groupTodoShareRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        groupTodoShareRepository.deleteAll();
+        groupMemberRepository.deleteAll();
+        groupRepository.deleteAll();
+        todoRepository.deleteAll();
+        userRepository.deleteAll();
+
+        owner = new User();
+        owner.setEmail("reminders@example.com");
+        owner.setPasswordHash("hashed-password");
+        owner = userRepository.save(owner);
+    }
+
+    @Test
+    void firesWithinASecondOfTheDueTime() throws InterruptedException {
+        OffsetDateTime dueDate = OffsetDateTime.now().plusSeconds(1);
+        Long id = create("Due soon", dueDate);
+        double firedBefore = fired();
+
+        Todo reminded = awaitReminded(id, Duration.ofSeconds(5));
+
+        assertThat(reminded.getRemindedAt()).isAfterOrEqualTo(dueDate.toInstant());
+        assertThat(Duration.between(dueDate.toInstant(), reminded.getRemindedAt())).isLessThan(Duration.ofSeconds(1));
+        awaitFired(firedBefore + 1);
+    }
+
+    @Test
+    void completingOrReschedulingCancelsThePendingReminder() throws InterruptedException {
+        Long completed = create("Completed", OffsetDateTime.now().plusSeconds(1));
+        Long moved = create("Moved", OffsetDateTime.now().plusSeconds(1));
+        todoService.completeTodo(completed, owner.getId());
+        todoService.updateTodo(moved, owner.getId(), new TodoRequest("Moved", "Description", OffsetDateTime.now().plusHours(2)));
+
+        Thread.sleep(2_000);
+
+        assertThat(todoRepository.findById(completed).orElseThrow().getRemindedAt()).isNull();
+        assertThat(todoRepository.findById(moved).orElseThrow().getRemindedAt()).isNull();
+    }
+
+    @Test
+    void reloadFiresRemindersThatCameDueWhileDownExactlyOnce() throws InterruptedException {
+        Long missed = create("Missed", OffsetDateTime.now().plusHours(1));
+        Long alreadyFired = create("Already fired", OffsetDateTime.now().plusHours(1));
+        Instant past = Instant.now().minus(Duration.ofMinutes(10)).truncatedTo(ChronoUnit.MILLIS);
+        jdbcTemplate.update("update todos set due_date = ? where id in (?, ?)", Timestamp.from(past), missed, alreadyFired);
+        jdbcTemplate.update("update todos set reminded_at = ? where id = ?", Timestamp.from(past), alreadyFired);
+        double firedBefore = fired();
+
+        dueDateReminders.reload();
+
+        awaitReminded(missed, Duration.ofSeconds(5));
+        awaitFired(firedBefore + 1);
+        assertThat(todoRepository.findById(alreadyFired).orElseThrow().getRemindedAt()).isEqualTo(past);
+        assertThat(fired()).isEqualTo(firedBefore + 1);
+    }
+
+    @Test
+    void savingAStaleCopyKeepsTheFiredReminderUntilTheDueDateChanges() {
+        OffsetDateTime dueDate = OffsetDateTime.now().plusHours(1).truncatedTo(ChronoUnit.MILLIS);
+        Long id = create("Stale", dueDate);
+        Todo stale = todoRepository.findById(id).orElseThrow();
+        Instant firedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        jdbcTemplate.update("update todos set reminded_at = ? where id = ?", Timestamp.from(firedAt), id);
+
+        stale.setTitle("Stale renamed");
+        todoRepository.save(stale);
+        assertThat(todoRepository.findById(id).orElseThrow().getRemindedAt()).isEqualTo(firedAt);
+
+        todoService.updateTodo(id, owner.getId(), new TodoRequest("Stale renamed", "Description", dueDate));
+        assertThat(todoRepository.findById(id).orElseThrow().getRemindedAt()).isEqualTo(firedAt);
+
+        todoService.updateTodo(id, owner.getId(), new TodoRequest("Stale renamed", "Description", dueDate.plusHours(1)));
+        assertThat(todoRepository.findById(id).orElseThrow().getRemindedAt()).isNull();
+    }
+
+    private Long create(String title, OffsetDateTime dueDate) {
+        return todoService.createTodo(new TodoRequest(title, "Description", dueDate), owner.getId()).id();
+    }
+
+    private Todo awaitReminded(Long id, Duration timeout) throws InterruptedException {
+        Instant deadline = Instant.now().plus(timeout);
+        while (Instant.now().isBefore(deadline)) {
+            Todo todo = todoRepository.findById(id).orElseThrow();
+            if (todo.getRemindedAt() != null) {
+                return todo;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Reminder for todo " + id + " did not fire within " + timeout);
+    }
+
+    private void awaitFired(double count) throws InterruptedException {
+        for (int i = 0; i < 100 && fired() < count; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(fired()).isEqualTo(count);
+    }
+
+    private double fired() {
+        return meterRegistry.counter("reminders.fired").count();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.todojustforfun.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    @Test
+    void firesEachKeyOnItsDeadlineTickAcrossLevels() {
+        TimingWheel<String> wheel = new TimingWheel<>(3, 1_000);
+        wheel.schedule("level0", 1_010);
+        wheel.schedule("level1", 1_000 + 500);
+        wheel.schedule("level2", 1_000 + 100_000);
+        wheel.schedule("boundary", 1_024);
+
+        List<Long> firedAt = new ArrayList<>();
+        List<String> fired = new ArrayList<>();
+        for (long tick = 1_001; tick <= 1_000 + 100_000; tick++) {
+            for (String key : wheel.advance(tick)) {
+                fired.add(key);
+                firedAt.add(tick);
+            }
+        }
+
+        assertThat(fired).containsExactly("level0", "boundary", "level1", "level2");
+        assertThat(firedAt).containsExactly(1_010L, 1_024L, 1_500L, 101_000L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelAndRescheduleReplaceThePreviousDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(3, 0);
+        wheel.schedule("cancelled", 5_000);
+        wheel.schedule("moved", 5_000);
+        wheel.advance(3_000);
+        wheel.cancel("cancelled");
+        wheel.schedule("moved", 3_100);
+
+        assertThat(wheel.advance(3_099)).isEmpty();
+        assertThat(wheel.advance(3_100)).containsExactly("moved");
+        assertThat(wheel.advance(10_000)).isEmpty();
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextTickAndFarOnesAreRejected() {
+        TimingWheel<String> wheel = new TimingWheel<>(2, 100);
+
+        assertThat(wheel.schedule("overdue", 10)).isTrue();
+        assertThat(wheel.schedule("too far", wheel.horizon() + 1)).isFalse();
+        assertThat(wheel.advance(100)).isEmpty();
+        assertThat(wheel.advance(101)).containsExactly("overdue");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void jumpingManyTicksAtOnceFiresEverythingInDeadlineOrder() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(4, 0);
+        for (int i = 200; i > 0; i--) {
+            wheel.schedule(i, i * 997L);
+        }
+
+        List<Integer> fired = wheel.advance(200 * 997L);
+
+        assertThat(fired).hasSize(200).isSorted();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.todojustforfun.security;
+
+import com.example.todojustforfun.repositories.GroupMemberRepository;
+import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.repositories.UserRepository;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ActuatorAccessTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    @Qualifier("springSecurityFilterChain")
+    private Filter springSecurityFilterChain;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private GroupTodoShareRepository groupTodoShareRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        groupTodoShareRepository.deleteAll();
+        groupMemberRepository.deleteAll();
+        groupRepository.deleteAll();
+        todoRepository.deleteAll();
+        userRepository.deleteAll();
+
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(springSecurityFilterChain)
+                .build();
+    }
+
+    @Test
+    void healthIsOpenAndOtherEndpointsRequireAnAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/slowqueries")).andExpect(status().isForbidden());
+
+        Cookie user = signUp("user@example.com");
+        mockMvc.perform(get("/actuator/slowqueries").cookie(user)).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").cookie(user)).andExpect(status().isForbidden());
+
+        Cookie admin = signUp("admin@example.com");
+        mockMvc.perform(get("/actuator/slowqueries").cookie(admin)).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics").cookie(admin)).andExpect(status().isOk());
+    }
+
+    private Cookie signUp(String email) throws Exception {
+        String credentials = "{\"email\":\"" + email + "\",\"password\":\"secret-password\"}";
+        mockMvc.perform(post("/auth/register").contentType(MediaType.APPLICATION_JSON).content(credentials))
+                .andExpect(status().isOk());
+        return mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(credentials))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getCookie("SESSION");
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.todojustforfun.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void encodesAndMatchesOnPool() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(4, 1, 4, registry)) {
+            String hash = encoder.encode("secret");
+
+            assertThat(encoder.matches("secret", hash)).isTrue();
+            assertThat(encoder.matches("wrong", hash)).isFalse();
+            assertThat(registry.get("password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void upgradesHashesWithDifferentCost() {
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(5, 1, 4, new SimpleMeterRegistry())) {
+            assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+            assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret"))).isTrue();
+            assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("secret"))).isFalse();
+            assertThat(encoder.upgradeEncoding(null)).isFalse();
+        }
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(12, 1, 1, registry);
+             ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<String>> hashes = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                hashes.add(CompletableFuture.supplyAsync(() -> encoder.encode("secret"), callers));
+            }
+
+            long rejectedCount = hashes.stream()
+                    .filter(hash -> {
+                        try {
+                            hash.join();
+                            return false;
+                        } catch (CompletionException e) {
+                            return e.getCause() instanceof ResponseStatusException status
+                                    && status.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE
+                                    && "1".equals(status.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+                        }
+                    })
+                    .count();
+
+            assertThat(rejectedCount).isPositive();
+            assertThat(registry.get("password.hash.rejected").counter().count()).isEqualTo(rejectedCount);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.todojustforfun.security;
+
+import com.example.todojustforfun.repositories.GroupMemberRepository;
+import com.example.todojustforfun.repositories.GroupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GroupAccessCacheTest {
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private GroupMemberRepository groupMemberRepository;
+
+    private GroupAccessCache groupAccessCache;
+
+    @BeforeEach
+    void setUp() {
+        groupAccessCache = new GroupAccessCache(
+                groupRepository, groupMemberRepository, Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void groupCreated_servesOwnerAndMembershipWithoutQueries() {
+        groupAccessCache.groupCreated(1L, 10L);
+
+        assertThat(groupAccessCache.ownerOf(1L)).contains(10L);
+        assertThat(groupAccessCache.isMember(1L, 10L)).isTrue();
+        verifyNoInteractions(groupRepository, groupMemberRepository);
+    }
+
+    @Test
+    void isMember_loadsOnceAndFollowsWrites() {
+        when(groupMemberRepository.existsByGroupIdAndUserId(1L, 20L)).thenReturn(false);
+
+        assertThat(groupAccessCache.isMember(1L, 20L)).isFalse();
+        assertThat(groupAccessCache.isMember(1L, 20L)).isFalse();
+        verify(groupMemberRepository, times(1)).existsByGroupIdAndUserId(1L, 20L);
+
+        groupAccessCache.memberAdded(1L, 20L);
+        assertThat(groupAccessCache.isMember(1L, 20L)).isTrue();
+
+        groupAccessCache.memberRemoved(1L, 20L);
+        assertThat(groupAccessCache.isMember(1L, 20L)).isFalse();
+    }
+
+    @Test
+    void ownerOf_doesNotCacheMissingGroups() {
+        when(groupRepository.findOwnerIdById(2L)).thenReturn(Optional.empty());
+
+        assertThat(groupAccessCache.ownerOf(2L)).isEmpty();
+        assertThat(groupAccessCache.ownerOf(2L)).isEmpty();
+        verify(groupRepository, times(2)).findOwnerIdById(2L);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.todojustforfun.security;
+
+import com.example.todojustforfun.models.UserSession;
+import com.example.todojustforfun.repositories.UserSessionRepository;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class JdbcSecurityContextRepositoryTest {
+
+    @Autowired
+    private JdbcSecurityContextRepository repository;
+
+    @Autowired
+    private UserSessionRepository userSessionRepository;
+
+    @Autowired
+    private SessionCleanupJob sessionCleanupJob;
+
+    @BeforeEach
+    void setUp() {
+        userSessionRepository.deleteAll();
+    }
+
+    @Test
+    void savedContextIsLoadedFromCookie() {
+        Cookie cookie = login("user@example.com");
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(cookie);
+        SecurityContext loaded = repository.loadDeferredContext(request).get();
+
+        assertThat(loaded.getAuthentication().getName()).isEqualTo("user@example.com");
+        assertThat(loaded.getAuthentication().getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        assertThat(repository.containsContext(request)).isTrue();
+
+        UserSession stored = userSessionRepository.findAll().getFirst();
+        assertThat(stored.getId()).isNotEqualTo(cookie.getValue());
+        assertThat(stored.getContext().length).isLessThan(64);
+    }
+
+    @Test
+    void unknownCookieYieldsEmptyContext() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("SESSION", "forged"));
+
+        assertThat(repository.loadDeferredContext(request).isGenerated()).isTrue();
+        assertThat(repository.loadDeferredContext(request).get().getAuthentication()).isNull();
+    }
+
+    @Test
+    void invalidateDeletesSessionAndClearsCookie() {
+        Cookie cookie = login("user@example.com");
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(cookie);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        repository.invalidate(request, response);
+
+        assertThat(userSessionRepository.count()).isZero();
+        assertThat(response.getCookie("SESSION").getMaxAge()).isZero();
+        assertThat(repository.containsContext(request)).isFalse();
+    }
+
+    @Test
+    void cleanupDeletesOnlyExpiredSessions() {
+        login("active@example.com");
+        for (int i = 0; i < 3; i++) {
+            UserSession expired = new UserSession();
+            expired.setId("expired-" + i);
+            expired.setContext(new byte[]{1});
+            expired.setExpiresAt(Instant.now().minusSeconds(60));
+            userSessionRepository.save(expired);
+        }
+
+        assertThat(sessionCleanupJob.deleteExpired()).isEqualTo(3);
+        assertThat(userSessionRepository.count()).isEqualTo(1);
+    }
+
+    private Cookie login(String email) {
+        SecurityContext context = new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(
+                email, null, AuthorityUtils.createAuthorityList(List.of("ROLE_USER"))));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        repository.saveContext(context, new MockHttpServletRequest(), response);
+        return response.getCookie("SESSION");
+    }
+}
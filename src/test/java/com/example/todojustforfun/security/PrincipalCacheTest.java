@@ -0,0 +1,60 @@
+package com.example.todojustforfun.security;
+
+import com.example.todojustforfun.dto.UserResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PrincipalCache principalCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache(Duration.ofMinutes(5), 2, meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_loadsOnceAndServesHitsFromCache() {
+        principalCache.get("a@example.com", this::load);
+        Optional<UserResponse> cached = principalCache.get("a@example.com", this::load);
+
+        assertThat(cached).map(UserResponse::email).contains("a@example.com");
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.counter("cache.requests", "cache", "principals", "result", "hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("cache.requests", "cache", "principals", "result", "miss").count()).isEqualTo(1);
+    }
+
+    @Test
+    void evict_forcesReload() {
+        principalCache.get("a@example.com", this::load);
+        principalCache.evict("a@example.com");
+        principalCache.get("a@example.com", this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_staysWithinMaxSize() {
+        principalCache.get("a@example.com", this::load);
+        principalCache.get("b@example.com", this::load);
+        principalCache.get("c@example.com", this::load);
+
+        assertThat(meterRegistry.get("cache.size").tag("cache", "principals").gauge().value()).isLessThanOrEqualTo(2);
+    }
+
+    private Optional<UserResponse> load(String email) {
+        return Optional.of(new UserResponse((long) loads.incrementAndGet(), email, Instant.now()));
+    }
+}
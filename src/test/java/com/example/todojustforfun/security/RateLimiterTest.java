@@ -0,0 +1,86 @@
+package com.example.todojustforfun.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimiter rateLimiter = new RateLimiter(true,
+            3, Duration.ofSeconds(3),
+            300, Duration.ofMinutes(1),
+            120, Duration.ofMinutes(1),
+            300, Duration.ofMinutes(1),
+            meterRegistry);
+
+    @Test
+    void bucketAdmitsABurstThenRefillsOneTokenPerInterval() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire(RateLimiter.EndpointGroup.AUTH, null, "10.0.0.1", 0)).isZero();
+        }
+        assertThat(rateLimiter.tryAcquire(RateLimiter.EndpointGroup.AUTH, null, "10.0.0.1", 0)).isEqualTo(SECOND);
+        assertThat(rateLimiter.tryAcquire(RateLimiter.EndpointGroup.AUTH, null, "10.0.0.2", 0)).isZero();
+        assertThat(rateLimiter.tryAcquire(RateLimiter.EndpointGroup.AUTH, "user@example.com", "10.0.0.1", 0)).isZero();
+
+        assertThat(rateLimiter.tryAcquire(RateLimiter.EndpointGroup.AUTH, null, "10.0.0.1", SECOND)).isZero();
+        assertThat(rateLimiter.tryAcquire(RateLimiter.EndpointGroup.AUTH, null, "10.0.0.1", SECOND)).isPositive();
+        assertThat(meterRegistry.get("http.ratelimit.rejected").tag("group", "auth").tag("key", "ip")
+                .counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void evictionDropsOnlyFullBuckets() {
+        rateLimiter.tryAcquire(RateLimiter.EndpointGroup.AUTH, null, "10.0.0.1", 0);
+        rateLimiter.tryAcquire(RateLimiter.EndpointGroup.AUTH, null, "10.0.0.2", 5 * SECOND);
+        assertThat(meterRegistry.get("http.ratelimit.buckets").gauge().value()).isEqualTo(2);
+
+        rateLimiter.evictFullBuckets(5 * SECOND);
+
+        assertThat(meterRegistry.get("http.ratelimit.buckets").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void classifiesByPathSegmentAndMethod() {
+        assertThat(RateLimiter.classify("POST", "/auth/login", 0)).isEqualTo(RateLimiter.EndpointGroup.AUTH);
+        assertThat(RateLimiter.classify("POST", "/auth/register", 0)).isEqualTo(RateLimiter.EndpointGroup.AUTH);
+        assertThat(RateLimiter.classify("GET", "/auth/me", 0)).isNull();
+        assertThat(RateLimiter.classify("GET", "/auth/login", 0)).isNull();
+        assertThat(RateLimiter.classify("GET", "/app/todos/1", 4)).isEqualTo(RateLimiter.EndpointGroup.TODO_READ);
+        assertThat(RateLimiter.classify("PUT", "/todos/1", 0)).isEqualTo(RateLimiter.EndpointGroup.TODO_WRITE);
+        assertThat(RateLimiter.classify("GET", "/groups", 0)).isEqualTo(RateLimiter.EndpointGroup.GROUP_READ);
+        assertThat(RateLimiter.classify("POST", "/groups/join", 0)).isNull();
+        assertThat(RateLimiter.classify("GET", "/todosx", 0)).isNull();
+    }
+
+    @Test
+    void filterAnswersTooManyRequestsWithRetryAfter() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter);
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = login(filter);
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletResponse rejected = login(filter);
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    private static MockHttpServletResponse login(RateLimitFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setRemoteAddr("192.168.0.10");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
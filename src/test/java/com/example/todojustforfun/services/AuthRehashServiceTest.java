@@ -0,0 +1,63 @@
+package com.example.todojustforfun.services;
+
+import com.example.todojustforfun.dto.LoginRequest;
+import com.example.todojustforfun.models.User;
+import com.example.todojustforfun.repositories.GroupMemberRepository;
+import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AuthRehashServiceTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private GroupTodoShareRepository groupTodoShareRepository;
+
+    @BeforeEach
+    void setUp() {
+        groupTodoShareRepository.deleteAll();
+        groupMemberRepository.deleteAll();
+        groupRepository.deleteAll();
+        todoRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void login_rehashesPasswordWithConfiguredCost() {
+        User user = new User();
+        user.setEmail("legacy@example.com");
+        user.setPasswordHash(new BCryptPasswordEncoder(4).encode("secret1"));
+        userRepository.save(user);
+
+        authService.login(new LoginRequest("legacy@example.com", "secret1"));
+
+        String rehashed = userRepository.findByEmail("legacy@example.com").orElseThrow().getPasswordHash();
+        assertThat(rehashed).startsWith("$2a$10$");
+        assertThat(new BCryptPasswordEncoder().matches("secret1", rehashed)).isTrue();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.todojustforfun.services;
 
+import com.example.todojustforfun.dto.TodoPageResponse;
 import com.example.todojustforfun.models.Group;
 import com.example.todojustforfun.models.Todo;
 import com.example.todojustforfun.models.User;
@@ -112,12 +113,13 @@ class GroupAuthorizationServiceTest {
 
         groupTodoShareService.shareTodo(group.getId(), todo.getId(), owner.getId());
 
-        List<Todo> sharedForMember = groupTodoShareService.listSharedTodos(group.getId(), member.getId(), null);
-        assertThat(sharedForMember).hasSize(1);
+        TodoPageResponse sharedForMember = groupTodoShareService.listSharedTodos(
+                group.getId(), member.getId(), null, "createdAt", null, 50);
+        assertThat(sharedForMember.items()).hasSize(1);
 
         ResponseStatusException nonMemberListException = assertThrows(
                 ResponseStatusException.class,
-                () -> groupTodoShareService.listSharedTodos(group.getId(), outsider.getId(), null)
+                () -> groupTodoShareService.listSharedTodos(group.getId(), outsider.getId(), null, "createdAt", null, 50)
         );
         assertThat(nonMemberListException.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
 
@@ -135,8 +137,9 @@ class GroupAuthorizationServiceTest {
 
         groupTodoShareService.unshareTodo(group.getId(), todo.getId(), owner.getId());
 
-        List<Todo> sharedAfterUnshare = groupTodoShareService.listSharedTodos(group.getId(), owner.getId(), null);
-        assertThat(sharedAfterUnshare).isEmpty();
+        TodoPageResponse sharedAfterUnshare = groupTodoShareService.listSharedTodos(
+                group.getId(), owner.getId(), null, "createdAt", null, 50);
+        assertThat(sharedAfterUnshare.items()).isEmpty();
     }
 
     private User createUser(String email) {
@@ -0,0 +1,193 @@
+package com.example.todojustforfun.services;
+
+import com.example.todojustforfun.cache.GroupSummaryCache;
+import com.example.todojustforfun.dto.GroupSummaryPageResponse;
+import com.example.todojustforfun.dto.GroupSummaryResponse;
+import com.example.todojustforfun.dto.TodoRequest;
+import com.example.todojustforfun.models.Group;
+import com.example.todojustforfun.models.User;
+import com.example.todojustforfun.repositories.GroupMemberRepository;
+import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class GroupSummaryServiceTest {
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private GroupSummaryCache groupSummaryCache;
+
+    @Autowired
+    private GroupMemberService groupMemberService;
+
+    @Autowired
+    private GroupTodoShareService groupTodoShareService;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private GroupTodoShareRepository groupTodoShareRepository;
+
+    private User owner;
+    private User member;
+
+    @BeforeEach
+    void setUp() {
+        groupTodoShareRepository.deleteAll();
+        groupMemberRepository.deleteAll();
+        groupRepository.deleteAll();
+        todoRepository.deleteAll();
+        userRepository.deleteAll();
+
+        owner = createUser("summary-owner@example.com");
+        member = createUser("summary-member@example.com");
+    }
+
+    @Test
+    void summariesCarryCountsAndTheCallersRole() {
+        Group shared = groupService.createGroup("Shared", owner.getId());
+        Group solo = groupService.createGroup("Solo", member.getId());
+        groupMemberService.joinByCode(shared.getJoinCode(), member.getId());
+        Long first = createTodo("First");
+        Long second = createTodo("Second");
+        groupTodoShareService.shareTodo(shared.getId(), first, owner.getId());
+        groupTodoShareService.shareTodo(shared.getId(), second, owner.getId());
+
+        assertThat(groupService.listGroupSummaries(member.getId(), null, 50).items()).containsExactly(
+                new GroupSummaryResponse(shared.getId(), "Shared", owner.getId(), shared.getCreatedAt(), 2L, 2L, "MEMBER"),
+                new GroupSummaryResponse(solo.getId(), "Solo", member.getId(), solo.getCreatedAt(), 1L, 0L, "OWNER"));
+        assertThat(groupService.listGroupSummaries(owner.getId(), null, 50).items())
+                .extracting(GroupSummaryResponse::role)
+                .containsExactly("OWNER");
+    }
+
+    @Test
+    void pagesWalkEveryGroupOnce() {
+        for (int i = 0; i < 5; i++) {
+            groupService.createGroup("Group " + i, owner.getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            GroupSummaryPageResponse page = groupService.listGroupSummaries(owner.getId(), cursor, 2);
+            page.items().stream().map(GroupSummaryResponse::id).forEach(seen::add);
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(5).doesNotHaveDuplicates().isSorted();
+    }
+
+    @Test
+    void onlyTheFirstPageIsCachedPerUser() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<GroupSummaryPageResponse> loader = () -> {
+            loads.incrementAndGet();
+            return new GroupSummaryPageResponse(List.of(), null);
+        };
+        Long userId = -1L;
+
+        groupSummaryCache.get(userId, 0, 10, loader);
+        groupSummaryCache.get(userId, 0, 10, loader);
+        assertThat(loads).hasValue(1);
+
+        groupSummaryCache.get(userId, 42, 10, loader);
+        groupSummaryCache.get(userId, 42, 10, loader);
+        assertThat(loads).hasValue(3);
+
+        groupSummaryCache.get(userId, 0, 20, loader);
+        groupSummaryCache.get(userId, 0, 20, loader);
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void aPageLoadedWhileItsUserWasEvictedIsNotKept() {
+        AtomicInteger loads = new AtomicInteger();
+        Long userId = -1L;
+        Supplier<GroupSummaryPageResponse> racingLoader = () -> {
+            loads.incrementAndGet();
+            // A membership change commits while the page is being read.
+            groupSummaryCache.membershipChanged(-1L, userId);
+            return new GroupSummaryPageResponse(List.of(), null);
+        };
+        Supplier<GroupSummaryPageResponse> loader = () -> {
+            loads.incrementAndGet();
+            return new GroupSummaryPageResponse(List.of(), null);
+        };
+
+        groupSummaryCache.get(userId, 0, 10, racingLoader);
+        groupSummaryCache.get(userId, 0, 10, loader);
+        groupSummaryCache.get(userId, 0, 10, loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void membershipAndShareChangesEvictCachedSummaries() {
+        Group group = groupService.createGroup("Cached", owner.getId());
+        assertThat(summary(owner).memberCount()).isEqualTo(1);
+
+        groupMemberService.joinByCode(group.getJoinCode(), member.getId());
+        assertThat(summary(owner).memberCount()).isEqualTo(2);
+        assertThat(summary(member).sharedTodoCount()).isZero();
+
+        Long todoId = createTodo("Shared later");
+        groupTodoShareService.shareTodo(group.getId(), todoId, owner.getId());
+        assertThat(summary(member).sharedTodoCount()).isEqualTo(1);
+
+        todoService.deleteTodoById(todoId, owner.getId());
+        assertThat(summary(member).sharedTodoCount()).isZero();
+
+        groupMemberService.removeMember(group.getId(), member.getId(), owner.getId());
+        assertThat(summary(owner).memberCount()).isEqualTo(1);
+        assertThat(groupService.listGroupSummaries(member.getId(), null, 50).items()).isEmpty();
+    }
+
+    private GroupSummaryResponse summary(User user) {
+        return groupService.listGroupSummaries(user.getId(), null, 50).items().getFirst();
+    }
+
+    private Long createTodo(String title) {
+        return todoService.createTodo(new TodoRequest(title, "Description", null), owner.getId()).id();
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPasswordHash("hashed-password");
+        return userRepository.save(user);
+    }
+}
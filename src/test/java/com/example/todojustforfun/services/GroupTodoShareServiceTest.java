@@ -0,0 +1,138 @@
+package com.example.todojustforfun.services;
+
+import com.example.todojustforfun.dto.TodoPageResponse;
+import com.example.todojustforfun.dto.TodoResponse;
+import com.example.todojustforfun.models.Group;
+import com.example.todojustforfun.models.Todo;
+import com.example.todojustforfun.models.User;
+import com.example.todojustforfun.repositories.GroupMemberRepository;
+import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class GroupTodoShareServiceTest {
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private GroupMemberService groupMemberService;
+
+    @Autowired
+    private GroupTodoShareService groupTodoShareService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private GroupTodoShareRepository groupTodoShareRepository;
+
+    @BeforeEach
+    void setUp() {
+        groupTodoShareRepository.deleteAll();
+        groupMemberRepository.deleteAll();
+        groupRepository.deleteAll();
+        todoRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void listSharedTodos_filtersOwnerInQueryAndPagesByDueDate() {
+        User owner = createUser("share-owner@example.com");
+        User member = createUser("share-member@example.com");
+
+        Group group = groupService.createGroup("Team", owner.getId());
+        groupMemberService.joinByCode(group.getJoinCode(), member.getId());
+
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        share(group, owner, createTodo(owner.getId(), "Later", now.plusDays(3)));
+        share(group, owner, createTodo(owner.getId(), "Sooner", now.plusDays(1)));
+        share(group, owner, createTodo(owner.getId(), "Undated", null));
+        share(group, member, createTodo(member.getId(), "Member task", now.plusDays(2)));
+
+        TodoPageResponse ownerOnly = groupTodoShareService.listSharedTodos(
+                group.getId(), member.getId(), owner.getId(), "dueDate", null, 2);
+        assertThat(ownerOnly.items()).extracting(TodoResponse::title).containsExactly("Sooner", "Later");
+
+        TodoPageResponse rest = groupTodoShareService.listSharedTodos(
+                group.getId(), member.getId(), owner.getId(), "dueDate", ownerOnly.nextCursor(), 2);
+        assertThat(rest.items()).extracting(TodoResponse::title).containsExactly("Undated");
+        assertThat(rest.nextCursor()).isNull();
+    }
+
+    @Test
+    void listSharedTodos_pagesByCreatedAtAndRejectsCursorsOfTheOtherSort() {
+        User owner = createUser("share-owner@example.com");
+        Group group = groupService.createGroup("Team", owner.getId());
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        for (int i = 0; i < 5; i++) {
+            share(group, owner, createTodo(owner.getId(), "Todo " + i, i % 2 == 0 ? null : now.plusDays(i)));
+        }
+
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        do {
+            TodoPageResponse page = groupTodoShareService.listSharedTodos(
+                    group.getId(), owner.getId(), null, "createdAt", cursor, 2);
+            page.items().forEach(todo -> titles.add(todo.title()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        assertThat(titles).containsExactly("Todo 4", "Todo 3", "Todo 2", "Todo 1", "Todo 0");
+
+        String createdAtCursor = groupTodoShareService.listSharedTodos(
+                group.getId(), owner.getId(), null, "createdAt", null, 2).nextCursor();
+        ResponseStatusException exception = assertThrows(
+                ResponseStatusException.class,
+                () -> groupTodoShareService.listSharedTodos(
+                        group.getId(), owner.getId(), null, "dueDate", createdAtCursor, 2)
+        );
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private void share(Group group, User user, Todo todo) {
+        groupTodoShareService.shareTodo(group.getId(), todo.getId(), user.getId());
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPasswordHash("hashed-password");
+        return userRepository.save(user);
+    }
+
+    private Todo createTodo(Long userId, String title, OffsetDateTime dueDate) {
+        Todo todo = new Todo();
+        todo.setTitle(title);
+        todo.setDescription("desc");
+        todo.setDueDate(dueDate);
+        todo.setUserId(userId);
+        return todoRepository.save(todo);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.todojustforfun.services;
+
+import com.example.todojustforfun.dto.TodoBulkItemResult;
+import com.example.todojustforfun.dto.TodoBulkResponse;
+import com.example.todojustforfun.dto.TodoBulkUpdateItem;
+import com.example.todojustforfun.dto.TodoRequest;
+import com.example.todojustforfun.models.User;
+import com.example.todojustforfun.repositories.GroupMemberRepository;
+import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TodoBulkServiceTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private GroupTodoShareRepository groupTodoShareRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        groupTodoShareRepository.deleteAll();
+        groupMemberRepository.deleteAll();
+        groupRepository.deleteAll();
+        todoRepository.deleteAll();
+        userRepository.deleteAll();
+
+        owner = new User();
+        owner.setEmail("bulk@example.com");
+        owner.setPasswordHash("hashed-password");
+        owner = userRepository.save(owner);
+    }
+
+    @Test
+    void createTodos_reportsStatusPerItem() {
+        TodoBulkResponse response = todoService.createTodos(List.of(
+                new TodoRequest("First", "desc", null),
+                new TodoRequest("", "desc", null),
+                new TodoRequest("first", "desc", null),
+                new TodoRequest("Second", "desc", null)
+        ), owner.getId());
+
+        assertThat(response.results()).extracting(TodoBulkItemResult::status)
+                .containsExactly(201, 400, 409, 201);
+        assertThat(response.succeeded()).isEqualTo(2);
+        assertThat(todoRepository.findAllByUserId(owner.getId())).hasSize(2);
+    }
+
+    @Test
+    void updateCompleteAndDelete_reportNotFoundForUnknownIds() {
+        List<Long> ids = todoService.createTodos(List.of(
+                new TodoRequest("One", "desc", null),
+                new TodoRequest("Two", "desc", null)
+        ), owner.getId()).results().stream().map(TodoBulkItemResult::id).toList();
+
+        TodoBulkResponse updated = todoService.updateTodos(List.of(
+                new TodoBulkUpdateItem(ids.get(0), "One renamed", "desc", null),
+                new TodoBulkUpdateItem(-1L, "Ghost", "desc", null)
+        ), owner.getId());
+        assertThat(updated.results()).extracting(TodoBulkItemResult::status).containsExactly(200, 404);
+
+        TodoBulkResponse completed = todoService.completeTodos(ids, true, owner.getId());
+        assertThat(completed.results()).allMatch(result -> result.todo().completed());
+
+        TodoBulkResponse deleted = todoService.deleteTodos(List.of(ids.get(0), ids.get(1), -1L), owner.getId());
+        assertThat(deleted.results()).extracting(TodoBulkItemResult::status).containsExactly(204, 204, 404);
+        assertThat(todoRepository.findAllByUserId(owner.getId())).isEmpty();
+    }
+
+    @Test
+    void completeAndDelete_rejectRepeatedIds() {
+        Long id = todoService.createTodo(new TodoRequest("Once", "desc", null), owner.getId()).id();
+
+        TodoBulkResponse completed = todoService.completeTodos(List.of(id, id), null, owner.getId());
+        assertThat(completed.results()).extracting(TodoBulkItemResult::status).containsExactly(200, 400);
+        assertThat(todoRepository.findById(id).orElseThrow().getCompleted()).isTrue();
+
+        TodoBulkResponse deleted = todoService.deleteTodos(List.of(id, id), owner.getId());
+        assertThat(deleted.results()).extracting(TodoBulkItemResult::status).containsExactly(204, 400);
+        assertThat(todoRepository.findAllByUserId(owner.getId())).isEmpty();
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.todojustforfun.services;
+
+import com.example.todojustforfun.dto.TodoChangesResponse;
+import com.example.todojustforfun.dto.TodoRequest;
+import com.example.todojustforfun.dto.TodoResponse;
+import com.example.todojustforfun.models.Group;
+import com.example.todojustforfun.models.User;
+import com.example.todojustforfun.repositories.GroupMemberRepository;
+import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.GroupTodoTombstoneRepository;
+import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.repositories.TodoTombstoneRepository;
+import com.example.todojustforfun.repositories.UserRepository;
+import com.example.todojustforfun.sync.SyncCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TodoChangesServiceTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private GroupTodoShareService groupTodoShareService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private GroupTodoShareRepository groupTodoShareRepository;
+
+    @Autowired
+    private TodoTombstoneRepository todoTombstoneRepository;
+
+    @Autowired
+    private GroupTodoTombstoneRepository groupTodoTombstoneRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        groupTodoTombstoneRepository.deleteAll();
+        todoTombstoneRepository.deleteAll();
+        groupTodoShareRepository.deleteAll();
+        groupMemberRepository.deleteAll();
+        groupRepository.deleteAll();
+        todoRepository.deleteAll();
+        userRepository.deleteAll();
+
+        owner = new User();
+        owner.setEmail("sync@example.com");
+        owner.setPasswordHash("hashed-password");
+        owner = userRepository.save(owner);
+    }
+
+    @Test
+    void getChanges_returnsOnlyWhatChangedSinceTheCursor() {
+        Long first = create("First");
+        Long second = create("Second");
+        Long third = create("Third");
+
+        TodoChangesResponse initial = todoService.getChanges(owner.getId(), null, 100);
+        assertThat(initial.changed()).extracting(TodoResponse::id).containsExactly(first, second, third);
+        assertThat(initial.hasMore()).isFalse();
+
+        todoService.completeTodo(second, owner.getId());
+        todoService.deleteTodoById(third, owner.getId());
+
+        TodoChangesResponse delta = todoService.getChanges(owner.getId(), initial.cursor(), 100);
+        assertThat(delta.changed()).extracting(TodoResponse::id).containsExactly(second);
+        assertThat(delta.changed().getFirst().completed()).isTrue();
+        assertThat(delta.removed()).containsExactly(third);
+
+        TodoChangesResponse idle = todoService.getChanges(owner.getId(), delta.cursor(), 100);
+        assertThat(idle.changed()).isEmpty();
+        assertThat(idle.removed()).isEmpty();
+    }
+
+    @Test
+    void getChanges_pagesThroughTodosStampedWithTheSameSequence() {
+        List<Long> ids = todoService.createTodos(List.of(
+                new TodoRequest("One", "desc", null),
+                new TodoRequest("Two", "desc", null),
+                new TodoRequest("Three", "desc", null)
+        ), owner.getId()).results().stream().map(result -> result.id()).toList();
+
+        TodoChangesResponse page = todoService.getChanges(owner.getId(), null, 2);
+        assertThat(page.changed()).extracting(TodoResponse::id).containsExactly(ids.get(0), ids.get(1));
+        assertThat(page.hasMore()).isTrue();
+
+        TodoChangesResponse rest = todoService.getChanges(owner.getId(), page.cursor(), 2);
+        assertThat(rest.changed()).extracting(TodoResponse::id).containsExactly(ids.get(2));
+        assertThat(rest.hasMore()).isFalse();
+    }
+
+    @Test
+    void getChanges_rejectsCursorsOlderThanTombstoneRetention() {
+        String stale = new SyncCursor(1, 1, Instant.now().minus(Duration.ofDays(31))).encode();
+
+        assertThatThrownBy(() -> todoService.getChanges(owner.getId(), stale, 100))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.GONE));
+    }
+
+    @Test
+    void getSharedTodoChanges_reportsUnsharedAndDeletedTodosAsRemoved() {
+        Group group = groupService.createGroup("Sync", owner.getId());
+        Long kept = create("Kept");
+        Long unshared = create("Unshared");
+        Long deleted = create("Deleted");
+        groupTodoShareService.shareTodo(group.getId(), kept, owner.getId());
+        groupTodoShareService.shareTodo(group.getId(), unshared, owner.getId());
+        groupTodoShareService.shareTodo(group.getId(), deleted, owner.getId());
+
+        TodoChangesResponse initial = groupTodoShareService.getSharedTodoChanges(group.getId(), owner.getId(), null, 100);
+        assertThat(initial.changed()).extracting(TodoResponse::id).containsExactly(kept, unshared, deleted);
+
+        todoService.updateTodo(kept, owner.getId(), new TodoRequest("Kept renamed", "desc", null));
+        groupTodoShareService.unshareTodo(group.getId(), unshared, owner.getId());
+        todoService.deleteTodoById(deleted, owner.getId());
+
+        TodoChangesResponse delta = groupTodoShareService.getSharedTodoChanges(
+                group.getId(), owner.getId(), initial.cursor(), 100);
+        assertThat(delta.changed()).extracting(TodoResponse::title).containsExactly("Kept renamed");
+        assertThat(delta.removed()).containsExactly(unshared, deleted);
+
+        groupTodoShareService.shareTodo(group.getId(), unshared, owner.getId());
+        TodoChangesResponse reshared = groupTodoShareService.getSharedTodoChanges(
+                group.getId(), owner.getId(), initial.cursor(), 100);
+        assertThat(reshared.changed()).extracting(TodoResponse::id).containsExactly(kept, unshared);
+        assertThat(reshared.removed()).containsExactly(deleted);
+    }
+
+    private Long create(String title) {
+        return todoService.createTodo(new TodoRequest(title, "desc", null), owner.getId()).id();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.todojustforfun.services;
+
+import com.example.todojustforfun.dto.TodoPageResponse;
+import com.example.todojustforfun.dto.TodoResponse;
+import com.example.todojustforfun.models.Todo;
+import com.example.todojustforfun.models.User;
+import com.example.todojustforfun.repositories.GroupMemberRepository;
+import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TodoDueDateQueryServiceTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private GroupTodoShareRepository groupTodoShareRepository;
+
+    private User owner;
+    private OffsetDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        groupTodoShareRepository.deleteAll();
+        groupMemberRepository.deleteAll();
+        groupRepository.deleteAll();
+        todoRepository.deleteAll();
+        userRepository.deleteAll();
+
+        owner = new User();
+        owner.setEmail("due@example.com");
+        owner.setPasswordHash("hashed-password");
+        owner = userRepository.save(owner);
+        now = OffsetDateTime.now();
+    }
+
+    @Test
+    void getOverdueTodos_listsOpenPastDueTodosOldestFirst() {
+        Long older = save("Older", now.minusDays(2), false);
+        Long newer = save("Newer", now.minusHours(1), false);
+        save("Done", now.minusDays(3), true);
+        save("Upcoming", now.plusDays(1), false);
+        save("Undated", null, false);
+
+        assertThat(ids(todoService.getOverdueTodos(owner.getId(), null, 50))).containsExactly(older, newer);
+    }
+
+    @Test
+    void getTodosDueBetween_pagesThroughTheRangeInDueDateOrder() {
+        Long first = save("First", now.plusHours(1), false);
+        Long second = save("Second", now.plusDays(2), false);
+        Long third = save("Third", now.plusDays(3), false);
+        save("Next week", now.plusDays(8), false);
+        save("Done", now.plusDays(1), true);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            TodoPageResponse page = todoService.getTodosDueBetween(owner.getId(), now, now.plusDays(7), cursor, 2);
+            seen.addAll(ids(page));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactly(first, second, third);
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> todoService.getTodosDueBetween(owner.getId(), now, now, null, 2));
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void getSortedTodos_ordersByTheRequestedKey() {
+        Long late = save("Late", now.plusDays(5), false);
+        Long soon = save("Soon", now.plusDays(1), false);
+        Long undated = save("Undated", null, false);
+
+        assertThat(ids(todoService.getSortedTodos(owner.getId(), false, "dueDate", null, 50))).containsExactly(soon, late);
+        assertThat(ids(todoService.getSortedTodos(owner.getId(), false, "createdAt", null, 50)))
+                .containsExactly(undated, soon, late);
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> todoService.getSortedTodos(owner.getId(), false, "title", null, 50));
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private Long save(String title, OffsetDateTime dueDate, boolean completed) {
+        Todo todo = new Todo();
+        todo.setTitle(title);
+        todo.setDescription("desc");
+        todo.setDueDate(dueDate);
+        todo.setCompleted(completed);
+        todo.setUserId(owner.getId());
+        return todoRepository.save(todo).getId();
+    }
+
+    private static List<Long> ids(TodoPageResponse page) {
+        return page.items().stream().map(TodoResponse::id).toList();
+    }
+}
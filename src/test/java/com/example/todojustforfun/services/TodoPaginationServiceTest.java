@@ -0,0 +1,125 @@
+package com.example.todojustforfun.services;
+
+import com.example.todojustforfun.dto.TodoPageResponse;
+import com.example.todojustforfun.dto.TodoResponse;
+import com.example.todojustforfun.models.Todo;
+import com.example.todojustforfun.models.User;
+import com.example.todojustforfun.repositories.GroupMemberRepository;
+import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TodoPaginationServiceTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private GroupTodoShareRepository groupTodoShareRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        groupTodoShareRepository.deleteAll();
+        groupMemberRepository.deleteAll();
+        groupRepository.deleteAll();
+        todoRepository.deleteAll();
+        userRepository.deleteAll();
+
+        owner = new User();
+        owner.setEmail("pager@example.com");
+        owner.setPasswordHash("hashed-password");
+        owner = userRepository.save(owner);
+
+        for (int i = 0; i < 5; i++) {
+            Todo todo = new Todo();
+            todo.setTitle("Task " + i);
+            todo.setDescription("desc");
+            todo.setCompleted(i % 2 == 0);
+            todo.setUserId(owner.getId());
+            todoRepository.save(todo);
+        }
+    }
+
+    @Test
+    void getAllTodos_walksEveryTodoOnceAcrossPages() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            TodoPageResponse page = todoService.getAllTodos(owner.getId(), cursor, 2);
+            page.items().stream().map(TodoResponse::id).forEach(seen::add);
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(5).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void getAllTodosByCompleted_pagesOnlyMatchingTodos() {
+        TodoPageResponse first = todoService.getAllTodosByCompleted(true, owner.getId(), null, 2);
+        TodoPageResponse second = todoService.getAllTodosByCompleted(true, owner.getId(), first.nextCursor(), 2);
+
+        assertThat(first.items()).hasSize(2).allMatch(TodoResponse::completed);
+        assertThat(second.items()).hasSize(1).allMatch(TodoResponse::completed);
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void getAllTodos_rejectsMalformedCursor() {
+        ResponseStatusException exception = assertThrows(
+                ResponseStatusException.class,
+                () -> todoService.getAllTodos(owner.getId(), "not-a-cursor", 2)
+        );
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void getAllTodos_rejectsOffsetCursor() {
+        // Offset tokens ("@<offset>") were once issued for group shared lists.
+        String offsetCursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("@1".getBytes(StandardCharsets.UTF_8));
+
+        ResponseStatusException exception = assertThrows(
+                ResponseStatusException.class,
+                () -> todoService.getAllTodos(owner.getId(), offsetCursor, 2)
+        );
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.todojustforfun.services;
+
+import com.example.todojustforfun.dto.TodoRequest;
+import com.example.todojustforfun.dto.TodoResponse;
+import com.example.todojustforfun.models.User;
+import com.example.todojustforfun.repositories.GroupMemberRepository;
+import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TodoSearchServiceTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private GroupTodoShareRepository groupTodoShareRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        groupTodoShareRepository.deleteAll();
+        groupMemberRepository.deleteAll();
+        groupRepository.deleteAll();
+        todoRepository.deleteAll();
+        userRepository.deleteAll();
+
+        owner = new User();
+        owner.setEmail("search@example.com");
+        owner.setPasswordHash("hashed-password");
+        owner = userRepository.save(owner);
+    }
+
+    @Test
+    void search_ranksPrefixMatchesFirstAndTracksWrites() {
+        todoService.createTodo(new TodoRequest("Buy groceries", "desc", null), owner.getId());
+        TodoResponse report = todoService.createTodo(new TodoRequest("Groceries report", "desc", null), owner.getId());
+        todoService.createTodo(new TodoRequest("Walk dog", "desc", null), owner.getId());
+
+        assertThat(todoService.getAllTodosByTitle("GROCER", owner.getId(), 10).items())
+                .extracting(TodoResponse::title)
+                .containsExactly("Groceries report", "Buy groceries");
+
+        todoService.updateTodo(report.id(), owner.getId(), new TodoRequest("Quarterly report", "desc", null));
+        todoService.createTodo(new TodoRequest("Dog food", "desc", null), owner.getId());
+
+        assertThat(todoService.getAllTodosByTitle("grocer", owner.getId(), 10).items())
+                .extracting(TodoResponse::title)
+                .containsExactly("Buy groceries");
+        assertThat(todoService.getAllTodosByTitle("dog", owner.getId(), 1).items())
+                .extracting(TodoResponse::title)
+                .containsExactly("Dog food");
+    }
+}
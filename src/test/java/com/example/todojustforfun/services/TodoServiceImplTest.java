@@ -2,15 +2,30 @@ package com.example.todojustforfun.services;
 
 import com.example.todojustforfun.dto.TodoRequest;
 import com.example.todojustforfun.dto.TodoResponse;
+import com.example.todojustforfun.etag.ContentVersions;
 import com.example.todojustforfun.mapper.TodoMapper;
 import com.example.todojustforfun.models.Todo;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.GroupTodoTombstoneRepository;
+import com.example.todojustforfun.repositories.StoredTodoRepository;
 import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.repositories.TodoTombstoneRepository;
+import com.example.todojustforfun.search.TodoSearchIndex;
+import com.example.todojustforfun.stats.TodoStats;
+import com.example.todojustforfun.stream.GroupChangeStream;
+import com.example.todojustforfun.sync.ChangeFeed;
+import com.example.todojustforfun.validation.TodoValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 
@@ -25,19 +40,45 @@ class TodoServiceImplTest {
     @Mock
     private TodoRepository todoRepository;
 
+    @Mock
+    private TodoSearchIndex todoSearchIndex;
+
+    @Mock
+    private ContentVersions contentVersions;
+
+    @Mock
+    private GroupTodoShareRepository groupTodoShareRepository;
+
+    @Mock
+    private GroupChangeStream groupChangeStream;
+
+    @Mock
+    private TodoTombstoneRepository todoTombstoneRepository;
+
+    @Mock
+    private GroupTodoTombstoneRepository groupTodoTombstoneRepository;
+
+    @Mock
+    private StoredTodoRepository storedTodoRepository;
+
+    @Mock
+    private TodoStats todoStats;
+
     private TodoServiceImpl todoService;
 
     @BeforeEach
     void setUp() {
-        todoService = new TodoServiceImpl(todoRepository, new TodoMapper());
+        todoService = new TodoServiceImpl(
+                todoRepository, new TodoMapper(), todoSearchIndex, contentVersions, groupTodoShareRepository, groupChangeStream,
+                todoTombstoneRepository, groupTodoTombstoneRepository, new ChangeFeed(Duration.ofDays(30)),
+                storedTodoRepository, todoStats, new TodoValidator());
     }
 
     @Test
     void createTodo_allowsNullDueDate() {
         TodoRequest request = new TodoRequest("Study", "Read book", null);
 
-        when(todoRepository.existsByTitleIgnoreCase("Study")).thenReturn(false);
-        when(todoRepository.save(any(Todo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(todoRepository.saveAndFlush(any(Todo.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         TodoResponse response = todoService.createTodo(request, 10L);
 
@@ -49,8 +90,7 @@ class TodoServiceImplTest {
         OffsetDateTime dueDate = OffsetDateTime.now(ZoneOffset.ofHours(-3)).plusDays(1);
         TodoRequest request = new TodoRequest("Workout", "Leg day", dueDate);
 
-        when(todoRepository.existsByTitleIgnoreCase("Workout")).thenReturn(false);
-        when(todoRepository.save(any(Todo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(todoRepository.saveAndFlush(any(Todo.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         TodoResponse response = todoService.createTodo(request, 11L);
 
@@ -65,4 +105,16 @@ class TodoServiceImplTest {
         assertThatThrownBy(() -> todoService.createTodo(request, 12L))
                 .isInstanceOf(IllegalArgumentException.class);
     }
+
+    @Test
+    void createTodo_mapsTitleIndexViolationToConflict() {
+        TodoRequest request = new TodoRequest("Study", "Read book", null);
+
+        when(todoRepository.saveAndFlush(any(Todo.class))).thenThrow(new DataIntegrityViolationException(
+                "duplicate", new SQLException("Unique index or primary key violation: \"public.uq_todos_user_title\"")));
+
+        assertThatThrownBy(() -> todoService.createTodo(request, 13L))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
 }
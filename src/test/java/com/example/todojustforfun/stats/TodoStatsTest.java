@@ -0,0 +1,139 @@
+package com.example.todojustforfun.stats;
+
+import com.example.todojustforfun.dto.TodoRequest;
+import com.example.todojustforfun.dto.TodoStatsResponse;
+import com.example.todojustforfun.models.Group;
+import com.example.todojustforfun.models.Todo;
+import com.example.todojustforfun.models.User;
+import com.example.todojustforfun.repositories.GroupMemberRepository;
+import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.repositories.UserRepository;
+import com.example.todojustforfun.services.GroupService;
+import com.example.todojustforfun.services.GroupTodoShareService;
+import com.example.todojustforfun.services.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TodoStatsTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private GroupTodoShareService groupTodoShareService;
+
+    @Autowired
+    private TodoStatsReconcileJob todoStatsReconcileJob;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private GroupTodoShareRepository groupTodoShareRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        groupTodoShareRepository.deleteAll();
+        groupMemberRepository.deleteAll();
+        groupRepository.deleteAll();
+        todoRepository.deleteAll();
+        userRepository.deleteAll();
+
+        owner = new User();
+        owner.setEmail("stats@example.com");
+        owner.setPasswordHash("hashed-password");
+        owner = userRepository.save(owner);
+    }
+
+    @Test
+    void writePathsKeepUserAndGroupCountersCurrent() {
+        Group group = groupService.createGroup("Stats", owner.getId());
+        Long first = create("First");
+        Long second = create("Second");
+        todoService.createTodos(List.of(
+                new TodoRequest("Third", "Description", null),
+                new TodoRequest("Fourth", "Description", null)), owner.getId());
+        groupTodoShareService.shareTodo(group.getId(), first, owner.getId());
+        groupTodoShareService.shareTodo(group.getId(), second, owner.getId());
+        todoService.completeTodo(first, owner.getId());
+        todoService.completeTodos(List.of(first, second), true, owner.getId());
+
+        assertThat(todoService.getStats(owner.getId())).isEqualTo(new TodoStatsResponse(4, 2, 2, 0, 2));
+        assertThat(groupTodoShareService.getStats(group.getId(), owner.getId()))
+                .isEqualTo(new TodoStatsResponse(2, 2, 0, 0, 2));
+
+        groupTodoShareService.unshareTodo(group.getId(), second, owner.getId());
+        todoService.deleteTodoById(first, owner.getId());
+
+        assertThat(todoService.getStats(owner.getId())).isEqualTo(new TodoStatsResponse(3, 1, 2, 0, 0));
+        assertThat(groupTodoShareService.getStats(group.getId(), owner.getId()))
+                .isEqualTo(new TodoStatsResponse(0, 0, 0, 0, 0));
+        assertThat(todoStatsReconcileJob.reconcile()).isZero();
+    }
+
+    @Test
+    void overdueIsCountedOnRead() {
+        Group group = groupService.createGroup("Overdue", owner.getId());
+        Todo overdue = new Todo();
+        overdue.setTitle("Overdue");
+        overdue.setDescription("Description");
+        overdue.setDueDate(OffsetDateTime.now().minusDays(1));
+        overdue.setUserId(owner.getId());
+        Long overdueId = todoRepository.save(overdue).getId();
+        groupTodoShareService.shareTodo(group.getId(), overdueId, owner.getId());
+
+        assertThat(todoService.getStats(owner.getId()).overdue()).isEqualTo(1);
+        assertThat(groupTodoShareService.getStats(group.getId(), owner.getId()).overdue()).isEqualTo(1);
+    }
+
+    @Test
+    void reconciliationCorrectsDriftedCounters() {
+        Group group = groupService.createGroup("Drift", owner.getId());
+        Long shared = create("Shared");
+        groupTodoShareService.shareTodo(group.getId(), shared, owner.getId());
+        create("Private");
+        jdbcTemplate.update("update user_todo_stats set total = 40, shared = 0 where user_id = ?", owner.getId());
+        jdbcTemplate.update("delete from group_todo_stats where group_id = ?", group.getId());
+
+        assertThat(todoStatsReconcileJob.reconcile()).isEqualTo(2);
+
+        assertThat(todoService.getStats(owner.getId())).isEqualTo(new TodoStatsResponse(2, 0, 2, 0, 1));
+        assertThat(groupTodoShareService.getStats(group.getId(), owner.getId()))
+                .isEqualTo(new TodoStatsResponse(1, 0, 1, 0, 1));
+        assertThat(todoStatsReconcileJob.reconcile()).isZero();
+    }
+
+    private Long create(String title) {
+        return todoService.createTodo(new TodoRequest(title, "Description", null), owner.getId()).id();
+    }
+}
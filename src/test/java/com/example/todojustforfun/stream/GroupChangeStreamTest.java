@@ -0,0 +1,189 @@
+package com.example.todojustforfun.stream;
+
+import com.example.todojustforfun.dto.TodoRequest;
+import com.example.todojustforfun.models.Group;
+import com.example.todojustforfun.repositories.GroupMemberRepository;
+import com.example.todojustforfun.repositories.GroupRepository;
+import com.example.todojustforfun.repositories.GroupTodoShareRepository;
+import com.example.todojustforfun.repositories.TodoRepository;
+import com.example.todojustforfun.repositories.UserRepository;
+import com.example.todojustforfun.services.GroupService;
+import com.example.todojustforfun.services.GroupTodoShareService;
+import com.example.todojustforfun.services.TodoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class GroupChangeStreamTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private GroupTodoShareService groupTodoShareService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private GroupTodoShareRepository groupTodoShareRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        groupTodoShareRepository.deleteAll();
+        groupMemberRepository.deleteAll();
+        groupRepository.deleteAll();
+        todoRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdownNow();
+    }
+
+    @Test
+    void streamsShareAndCompleteEventsAndReplaysAfterLastEventId() throws Exception {
+        String cookie = registerAndLogin("stream@example.com");
+        Long userId = userRepository.findByEmail("stream@example.com").orElseThrow().getId();
+        Group group = groupService.createGroup("Live", userId);
+
+        BlockingQueue<String> live = open(group.getId(), cookie, null);
+        Long todoId = todoService.createTodo(new TodoRequest("Shared", "desc", null), userId).id();
+        groupTodoShareService.shareTodo(group.getId(), todoId, userId);
+        todoService.completeTodo(todoId, userId);
+
+        String firstId = nextField(live, "id:");
+        assertThat(nextField(live, "event:")).isEqualTo("shared");
+        assertThat(nextField(live, "event:")).isEqualTo("completed");
+        assertThat(nextField(live, "data:")).contains("\"completed\":true");
+
+        BlockingQueue<String> resumed = open(group.getId(), cookie, firstId);
+        assertThat(nextField(resumed, "event:")).isEqualTo("completed");
+
+        BlockingQueue<String> stale = open(group.getId(), cookie, "unknown:1");
+        assertThat(nextField(stale, "event:")).isEqualTo("reset");
+    }
+
+    @Test
+    void rejectsNonMembers() throws Exception {
+        String ownerCookie = registerAndLogin("stream-owner@example.com");
+        String outsiderCookie = registerAndLogin("stream-outsider@example.com");
+        Long ownerId = userRepository.findByEmail("stream-owner@example.com").orElseThrow().getId();
+        Group group = groupService.createGroup("Private", ownerId);
+
+        HttpResponse<Void> response = client.send(
+                HttpRequest.newBuilder(uri("/groups/" + group.getId() + "/shared-todos/stream"))
+                        .header("Cookie", outsiderCookie)
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        assertThat(ownerCookie).isNotBlank();
+        assertThat(response.statusCode()).isEqualTo(403);
+    }
+
+    @Test
+    void dropsChannelsWithoutSubscribersOnceTheReplayWindowHasPassed() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GroupChangeStream stream = new GroupChangeStream(16, 16, Duration.ofMinutes(1), Duration.ZERO, registry);
+        stream.subscribe(1L, 10L, null);
+        stream.subscribe(2L, 20L, null);
+
+        stream.evictIdleChannels();
+        assertThat(registry.get("sse.channels").gauge().value()).isEqualTo(2);
+
+        stream.disconnect(1L, 10L);
+        stream.evictIdleChannels();
+        assertThat(registry.get("sse.channels").gauge().value()).isEqualTo(1);
+
+        stream.subscribe(1L, 10L, null);
+        assertThat(registry.get("sse.channels").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("sse.subscribers").gauge().value()).isEqualTo(2);
+        stream.close();
+    }
+
+    private BlockingQueue<String> open(Long groupId, String cookie, String lastEventId) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri("/groups/" + groupId + "/shared-todos/stream"))
+                .header("Cookie", cookie);
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofLines())
+                .thenAccept(response -> {
+                    try (Stream<String> body = response.body()) {
+                        body.forEach(lines::add);
+                    } catch (RuntimeException ignored) {
+                        // connection closed when the client shuts down
+                    }
+                });
+        return lines;
+    }
+
+    private String nextField(BlockingQueue<String> lines, String prefix) throws InterruptedException {
+        while (true) {
+            String line = lines.poll(5, TimeUnit.SECONDS);
+            assertThat(line).as("expected a line starting with " + prefix).isNotNull();
+            if (line.startsWith(prefix)) {
+                return line.substring(prefix.length()).trim();
+            }
+        }
+    }
+
+    private String registerAndLogin(String email) throws Exception {
+        String credentials = "{\"email\":\"" + email + "\",\"password\":\"secret1\"}";
+        post("/auth/register", credentials);
+        HttpResponse<String> login = post("/auth/login", credentials);
+        List<String> cookies = login.headers().allValues("Set-Cookie");
+        return cookies.getFirst().split(";", 2)[0];
+    }
+
+    private HttpResponse<String> post(String path, String json) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(json))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}